@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.dataset.DatasetGenerator;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.routing.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Starts the application against an in-memory H2 seeded by {@link DatasetGenerator}. Configured replicas get the
+ * schema and the same rows, there is no replication between them.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(DatasetSpec spec, String... args) {
+        return start(spec, WebApplicationType.NONE, args);
+    }
+
+    /**
+     * Starts the web server on a random port, {@code args} override the default properties like command line
+     * arguments do. A {@code null} spec skips seeding, e.g. for a database that already has data.
+     * {@code --benchmark.statement-delay-ms} makes every statement wait that long once seeding is done.
+     */
+    public static ConfigurableApplicationContext startServer(DatasetSpec spec, String... args) {
+        return start(spec, WebApplicationType.SERVLET, args);
+    }
+
+    private static ConfigurableApplicationContext start(DatasetSpec spec, WebApplicationType type,
+                                                        String... args) {
+        StatementDelayPostProcessor statementDelay = new StatementDelayPostProcessor();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .initializers(initialized -> initialized.getBeanFactory().addBeanPostProcessor(statementDelay))
+                .web(type)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "server.port=0",
+                        "shareit.purge.delay=3600000",
+                        "logging.level.root=WARN")
+                .run(args);
+        if (spec != null) {
+            new DatasetGenerator(context.getBean(JdbcTemplate.class)).generate(spec);
+            seedReplicas(context.getBean(DataSource.class), spec);
+        }
+        statementDelay.enable(context.getEnvironment().getProperty("benchmark.statement-delay-ms", Long.class, 0L));
+        return context;
+    }
+
+    private static void seedReplicas(DataSource dataSource, DatasetSpec spec) {
+        try {
+            if (!dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return;
+            }
+            for (DataSource replica : dataSource.unwrap(ReplicaRoutingDataSource.class).getReplicas()) {
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+                new DatasetGenerator(new JdbcTemplate(replica)).generate(spec);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.CommentShortDto;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures entity to DTO conversions of the static mappers on lists of {@code size} entities. Run with
+ * {@code -prof gc} to see the bytes allocated per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private Set<Comment> comments;
+    private List<ItemRequest> requests;
+    private List<BookingShortDto> bookingShortDtos;
+    private List<CommentDto> commentDtos;
+
+    @Setup
+    public void setUp() {
+        User owner = makeUser(1L);
+        User booker = makeUser(2L);
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        comments = new HashSet<>(size);
+        requests = new ArrayList<>(size);
+        bookingShortDtos = new ArrayList<>(size);
+        commentDtos = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = makeItem(i, owner.getId());
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId(i);
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setStartBooking(LocalDateTime.now().minusDays(2));
+            booking.setEndBooking(LocalDateTime.now().minusDays(1));
+            bookings.add(booking);
+            bookingShortDtos.add(BookingMapper.toBookingShortDto(booking));
+
+            Comment comment = new Comment();
+            comment.setId(i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setText("Comment " + i);
+            comment.setCreated(LocalDateTime.now());
+            comments.add(comment);
+            commentDtos.add(new CommentDto(null, comment.getText(), new ItemShortDto(i, null), null, null));
+
+            requests.add(new ItemRequest(i, "Request " + i, booker, LocalDateTime.now(), List.of(item), null, false));
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsToItemDto() {
+        return ItemMapper.toItemsDto(items);
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> itemsToItemBookingDto() {
+        return ItemMapper.toItemsBookingDto(items);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsToBookingDto() {
+        return BookingMapper.toBookingsDto(bookings);
+    }
+
+    @Benchmark
+    public List<Booking> bookingShortDtosToBooking() {
+        List<Booking> result = new ArrayList<>(bookingShortDtos.size());
+        for (BookingShortDto bookingDto : bookingShortDtos) {
+            result.add(BookingMapper.toBooking(bookingDto));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Comment> commentDtosToComment() {
+        List<Comment> result = new ArrayList<>(commentDtos.size());
+        for (CommentDto commentDto : commentDtos) {
+            result.add(CommentMapper.toComment(commentDto, 2L, commentDto.getItem().getId()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Set<CommentShortDto> commentsToCommentShortDto() {
+        return CommentMapper.toCommentsDto(comments);
+    }
+
+    @Benchmark
+    public List<ItemRequestWithItemsDto> requestsToItemRequestWithItemsDto() {
+        return ItemRequestMapper.toItemsRequestsDto(requests);
+    }
+
+    private static User makeUser(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@mail.ru");
+        return user;
+    }
+
+    private static Item makeItem(Long id, Long ownerId) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setDescription("Description of item " + id);
+        item.setOwnerId(ownerId);
+        item.setIsAvailable(true);
+        return item;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput against the number of replicas. Every database, the primary included, gets a pool of
+ * {@code poolSize} connections, which stands for the capacity of one database server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+public class ReplicaReadBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "1", "2"})
+    private int replicas;
+
+    @Param("4")
+    private int poolSize;
+
+    @Param("10000")
+    private int itemsCount;
+
+    private DatasetSpec spec;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        spec = DatasetSpec.ofItems(itemsCount);
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        for (int i = 0; i < replicas; i++) {
+            args.add("--shareit.datasource.replicas[" + i + "].url=jdbc:h2:mem:replica" + i + ";DB_CLOSE_DELAY=-1");
+            args.add("--shareit.datasource.replicas[" + i + "].username=test");
+            args.add("--shareit.datasource.replicas[" + i + "].password=test");
+            args.add("--shareit.datasource.replicas[" + i + "].maximum-pool-size=" + poolSize);
+        }
+        context = BenchmarkApplication.start(spec, args.toArray(String[]::new));
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemBookingDto findItemById() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return itemService.findItemById(random.nextInt(spec.getItems()) + 1, random.nextLong(spec.getUsers()) + 1);
+    }
+
+    @Benchmark
+    public List<BookingDto> findBookingsByOwner() {
+        return bookingService.findBookingsByOwner(ThreadLocalRandom.current().nextLong(spec.getUsers()) + 1,
+                "ALL", 0, PAGE_SIZE);
+    }
+}
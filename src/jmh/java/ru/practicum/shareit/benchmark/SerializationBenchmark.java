@@ -0,0 +1,135 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.item.dto.CommentShortDto;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes pages of {@code size} DTOs in each format the API serves. The mappers are configured like the
+ * application's converters. Encoded page sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+    private static final TypeReference<List<BookingDto>> BOOKINGS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ItemBookingDto>> ITEMS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ItemRequestWithItemsDto>> REQUESTS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<BookingDto> bookings;
+    private List<ItemBookingDto> items;
+    private List<ItemRequestWithItemsDto> requests;
+    private byte[] encodedBookings;
+    private byte[] encodedItems;
+    private byte[] encodedRequests;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = makeMapperBuilder(format)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new ParameterNamesModule())
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        requests = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            bookings.add(new BookingDto(i, now.minusDays(2), now.minusDays(1), i, "Item " + i, 2L, "user2",
+                    BookingStatus.APPROVED));
+            items.add(new ItemBookingDto(i, 1L, "Item " + i, "Description of item " + i, true,
+                    new BookingForItemDto(i, 2L), new BookingForItemDto(i + 1, 2L),
+                    Set.of(new CommentShortDto(i, "Comment " + i, "user2", now))));
+            requests.add(new ItemRequestWithItemsDto(i, "Request " + i, new UserShortDto(2L, "user2"), now,
+                    List.of(new ItemDto(i, 1L, "Item " + i, "Description of item " + i, true, i))));
+        }
+        encodedBookings = mapper.writeValueAsBytes(bookings);
+        encodedItems = mapper.writeValueAsBytes(items);
+        encodedRequests = mapper.writeValueAsBytes(requests);
+        System.out.printf("%n%s, %d DTOs: bookings %d B, items %d B, requests %d B%n", format, size,
+                encodedBookings.length, encodedItems.length, encodedRequests.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookings() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] encodeItems() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] encodeRequests() throws IOException {
+        return mapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public List<BookingDto> decodeBookings() throws IOException {
+        return mapper.readValue(encodedBookings, BOOKINGS);
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> decodeItems() throws IOException {
+        return mapper.readValue(encodedItems, ITEMS);
+    }
+
+    @Benchmark
+    public List<ItemRequestWithItemsDto> decodeRequests() throws IOException {
+        return mapper.readValue(encodedRequests, REQUESTS);
+    }
+
+    private static Jackson2ObjectMapperBuilder makeMapperBuilder(String format) {
+        switch (format) {
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile();
+            default:
+                return Jackson2ObjectMapperBuilder.json();
+        }
+    }
+}
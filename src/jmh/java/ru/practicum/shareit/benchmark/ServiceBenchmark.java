@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures service calls together with their repository queries on an H2 database seeded with {@code itemsCount}
+ * items in the default {@link DatasetSpec} proportions. User 1 owns the largest inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmark {
+    private static final long OWNER_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    private int itemsCount;
+
+    private DatasetSpec spec;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        spec = DatasetSpec.ofItems(itemsCount);
+        context = BenchmarkApplication.start(spec);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> getAllItemsByOwner() {
+        return itemService.getAllItemsByOwner(OWNER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> findItemsByNameOrDescription() {
+        return itemService.findItemsByNameOrDescription(spec.getSearchText(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findBookingsByOwner() {
+        return bookingService.findBookingsByOwner(OWNER_ID, "ALL", 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a fixed delay before every statement execution while the connection is held, so an in-memory H2 behaves like
+ * a database behind a network round trip. The delay is off until {@link #enable(long)}, which keeps seeding fast.
+ */
+class StatementDelayPostProcessor implements BeanPostProcessor {
+    private volatile long delayMillis;
+
+    void enable(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return wrap(DataSource.class, bean, (proxy, method, args) -> {
+                Object result = invoke(bean, method, args);
+                return "getConnection".equals(method.getName()) ? wrapConnection((Connection) result) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return wrap(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return result instanceof Statement ? wrapStatement((Statement) result, method.getReturnType()) : result;
+        });
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type) {
+        return wrap(type, statement, (proxy, method, args) -> {
+            long delay = delayMillis;
+            if (delay > 0 && method.getName().startsWith("execute")) {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T wrap(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
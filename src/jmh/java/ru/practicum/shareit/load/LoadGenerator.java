@@ -0,0 +1,94 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends scenario operations at a fixed arrival rate, independently of how fast responses come back.
+ * <p>
+ * Every call has an intended start time on the rate schedule. The corrected latency is measured from that time,
+ * so calls delayed by a slow server or by the {@code maxInFlight} limit still count their waiting time. This
+ * avoids coordinated omission. The service time, measured from the actual send, is recorded alongside it.
+ */
+@RequiredArgsConstructor
+public class LoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int FAILED_STATUS = -1;
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadScenario scenario;
+    private final int requestsPerSecond;
+    private final int maxInFlight;
+    private final long seed;
+
+    public LoadReport run(Duration warmUp, Duration duration) {
+        SplittableRandom random = new SplittableRandom(seed);
+        if (!warmUp.isZero()) {
+            runPhase(warmUp, random);
+        }
+        return runPhase(duration, random);
+    }
+
+    private LoadReport runPhase(Duration duration, SplittableRandom random) {
+        Map<String, Recorder> latencies = new ConcurrentHashMap<>();
+        Map<String, Recorder> serviceTimes = new ConcurrentHashMap<>();
+        Map<String, Map<Integer, Long>> statuses = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long calls = duration.toNanos() / intervalNanos;
+        long startTime = System.nanoTime();
+
+        for (long i = 0; i < calls; i++) {
+            long intendedTime = startTime + i * intervalNanos;
+            long delay = intendedTime - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            inFlight.acquireUninterruptibly();
+            LoadOperation operation = scenario.next(random);
+            long sendTime = System.nanoTime();
+            httpClient.sendAsync(toRequest(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long endTime = System.nanoTime();
+                        inFlight.release();
+                        recorder(latencies, operation).recordValue((endTime - intendedTime) / 1000);
+                        recorder(serviceTimes, operation).recordValue((endTime - sendTime) / 1000);
+                        statuses.computeIfAbsent(operation.getName(), name -> new ConcurrentHashMap<>())
+                                .merge(error == null ? response.statusCode() : FAILED_STATUS, 1L, Long::sum);
+                    });
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+        inFlight.release(maxInFlight);
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+        return new LoadReport(requestsPerSecond, calls / elapsedSeconds, latencies, serviceTimes, statuses);
+    }
+
+    private HttpRequest toRequest(LoadOperation operation) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(operation.getPath()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-Sharer-User-Id", String.valueOf(operation.getUserId()));
+        if (operation.getBody() == null) {
+            return builder.method(operation.getMethod(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(operation.getMethod(), HttpRequest.BodyPublishers.ofString(operation.getBody()))
+                .build();
+    }
+
+    private static Recorder recorder(Map<String, Recorder> recorders, LoadOperation operation) {
+        return recorders.computeIfAbsent(operation.getName(), name -> new Recorder(3));
+    }
+}
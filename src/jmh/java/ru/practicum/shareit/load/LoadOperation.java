@@ -0,0 +1,17 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One HTTP call of a load scenario. {@code name} groups calls in the report, {@code body} is JSON or {@code null}.
+ */
+@Data
+@AllArgsConstructor
+public class LoadOperation {
+    private String name;
+    private String method;
+    private String path;
+    private Long userId;
+    private String body;
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency percentiles per operation, in milliseconds. {@code latency} includes the time a call waited behind its
+ * scheduled start, {@code service} only the time from sending it.
+ */
+public class LoadReport {
+    private static final String TOTAL = "total";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final int targetRate;
+    private final double actualRate;
+    private final Map<String, Histogram> latencies = new TreeMap<>();
+    private final Map<String, Histogram> serviceTimes = new TreeMap<>();
+    private final Map<String, Map<Integer, Long>> statuses;
+
+    LoadReport(int targetRate, double actualRate, Map<String, Recorder> latencies,
+               Map<String, Recorder> serviceTimes, Map<String, Map<Integer, Long>> statuses) {
+        this.targetRate = targetRate;
+        this.actualRate = actualRate;
+        this.statuses = new TreeMap<>(statuses);
+        collect(latencies, this.latencies);
+        collect(serviceTimes, this.serviceTimes);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Target rate %d/s, actual send rate %.1f/s%n", targetRate, actualRate);
+        out.printf("%-22s %-8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "metric", "count", "errors", "p50", "p90", "p99", "p99.9", "max");
+        for (String name : latencies.keySet()) {
+            printRow(out, name, "latency", latencies.get(name));
+            printRow(out, name, "service", serviceTimes.get(name));
+        }
+    }
+
+    /**
+     * Writes corrected latency distributions in the {@code .hgrm} format, which HdrHistogram plotters can compare.
+     */
+    public void writeHistograms(Path directory, String prefix) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> latency : latencies.entrySet()) {
+            Path file = directory.resolve(prefix + "-" + latency.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latency.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    public Histogram getLatency(String name) {
+        return latencies.get(name);
+    }
+
+    public long getErrors(String name) {
+        return statuses.getOrDefault(name, Map.of()).entrySet().stream()
+                .filter(status -> status.getKey() < 200 || status.getKey() >= 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private void printRow(PrintStream out, String name, String metric, Histogram histogram) {
+        long errors = TOTAL.equals(name)
+                ? statuses.keySet().stream().mapToLong(this::getErrors).sum()
+                : getErrors(name);
+        out.printf("%-22s %-8s %8d %7d", name, metric, histogram.getTotalCount(), errors);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void collect(Map<String, Recorder> recorders, Map<String, Histogram> histograms) {
+        Histogram total = new Histogram(3);
+        for (Map.Entry<String, Recorder> recorder : recorders.entrySet()) {
+            Histogram histogram = recorder.getValue().getIntervalHistogram();
+            histograms.put(recorder.getKey(), histogram);
+            total.add(histogram);
+        }
+        histograms.put(TOTAL, total);
+    }
+}
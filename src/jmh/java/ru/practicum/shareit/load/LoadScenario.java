@@ -0,0 +1,8 @@
+package ru.practicum.shareit.load;
+
+import java.util.SplittableRandom;
+
+public interface LoadScenario {
+
+    LoadOperation next(SplittableRandom random);
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.benchmark.BenchmarkApplication;
+import ru.practicum.shareit.dataset.DatasetSpec;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entry point, arguments have the form {@code key=value}:
+ * <ul>
+ * <li>{@code target} - base URL of a running application; without it the application starts in-process on H2,
+ * {@code --spring.*} arguments are passed to it, e.g. to point it at a local Postgres, and
+ * {@code --benchmark.statement-delay-ms} makes every statement wait like a remote database would</li>
+ * <li>{@code items}, {@code users} - dataset size to generate in-process and to draw ids from</li>
+ * <li>{@code generate} - {@code false} keeps the in-process database as it is</li>
+ * <li>{@code mix} - operation weights, {@code item=60,search=20,bookings=10,write=10} by default</li>
+ * <li>{@code replay} - file with recorded calls to replay instead of the mix</li>
+ * <li>{@code rate}, {@code duration}, {@code warmup}, {@code maxInFlight}, {@code seed}, {@code out}</li>
+ * </ul>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Argument should look like key=value: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        int items = Integer.parseInt(options.getOrDefault("items", "10000"));
+        DatasetSpec spec = DatasetSpec.ofItems(items);
+        int users = Integer.parseInt(options.getOrDefault("users", String.valueOf(spec.getUsers())));
+        spec.setUsers(users);
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.containsKey("target")) {
+            baseUri = URI.create(options.get("target"));
+        } else {
+            boolean generate = Boolean.parseBoolean(options.getOrDefault("generate", "true"));
+            context = BenchmarkApplication.startServer(generate ? spec : null, springArgs.toArray(new String[0]));
+            baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        }
+
+        LoadScenario scenario = options.containsKey("replay")
+                ? new ReplayScenario(Path.of(options.get("replay")))
+                : new MixedScenario(options.getOrDefault("mix", "item=60,search=20,bookings=10,write=10"),
+                users, items, spec.getSearchText());
+        int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "64"));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.min(maxInFlight, 16)))
+                .build();
+        LoadGenerator generator = new LoadGenerator(httpClient, baseUri, scenario,
+                Integer.parseInt(options.getOrDefault("rate", "200")),
+                maxInFlight,
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        try {
+            LoadReport report = generator.run(
+                    Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                    Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))));
+            report.print(System.out);
+            report.writeHistograms(Path.of(options.getOrDefault("out", "target/load")),
+                    "rate" + options.getOrDefault("rate", "200"));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.dataset.ZipfSampler;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Picks operations by weight from a mix like {@code item=60,search=20,bookings=10,write=10}.
+ * Items and owners are drawn with the same Zipf skew the dataset generator uses, so low ids are the hot set.
+ */
+public class MixedScenario implements LoadScenario {
+    private static final String ITEM = "item";
+    private static final String SEARCH = "search";
+    private static final String BOOKINGS = "bookings";
+    private static final String WRITE = "write";
+
+    private final Map<String, Integer> weights;
+    private final int totalWeight;
+    private final int users;
+    private final ZipfSampler itemSampler;
+    private final ZipfSampler ownerSampler;
+    private final String searchText;
+
+    public MixedScenario(String mix, int users, int items, String searchText) {
+        this.weights = parseMix(mix);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.users = users;
+        this.itemSampler = new ZipfSampler(items, 1.1);
+        this.ownerSampler = new ZipfSampler(users, 1.0);
+        this.searchText = searchText;
+    }
+
+    @Override
+    public LoadOperation next(SplittableRandom random) {
+        int point = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            point -= weight.getValue();
+            if (point < 0) {
+                return makeOperation(weight.getKey(), random);
+            }
+        }
+        throw new IllegalStateException("Operation weights are inconsistent");
+    }
+
+    private LoadOperation makeOperation(String name, SplittableRandom random) {
+        long userId = random.nextInt(users) + 1;
+        switch (name) {
+            case ITEM:
+                return new LoadOperation(name, "GET", "/items/" + itemSampler.sample(random), userId, null);
+            case SEARCH:
+                return new LoadOperation(name, "GET", "/items/search?text=" + searchText + "&from=0&size=20",
+                        userId, null);
+            case BOOKINGS:
+                return new LoadOperation(name, "GET", "/bookings/owner?state=ALL&from=0&size=20",
+                        (long) ownerSampler.sample(random), null);
+            case WRITE:
+                LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                        .plusDays(1).plusHours(random.nextInt(24 * 30));
+                String body = "{\"itemId\":" + itemSampler.sample(random) + ",\"start\":\"" + start +
+                        "\",\"end\":\"" + start.plusDays(random.nextInt(7) + 1) + "\"}";
+                return new LoadOperation(name, "POST", "/bookings", userId, body);
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + name);
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split("=");
+            if (nameAndWeight.length != 2 || !Map.of(ITEM, 0, SEARCH, 0, BOOKINGS, 0, WRITE, 0)
+                    .containsKey(nameAndWeight[0])) {
+                throw new IllegalArgumentException("Incorrect operation weight: " + part);
+            }
+            weights.put(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays recorded calls in order, starting over after the last one. Every non-blank line that doesn't start with
+ * {@code #} has the form {@code METHOD PATH USER_ID [JSON_BODY]}, the operation is named after the first path segment.
+ */
+public class ReplayScenario implements LoadScenario {
+    private final List<LoadOperation> operations = new ArrayList<>();
+    private final AtomicInteger position = new AtomicInteger();
+
+    public ReplayScenario(Path file) throws IOException {
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.trim().split("\\s+", 4);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Incorrect replay line: " + line);
+            }
+            String name = parts[0] + " /" + parts[1].split("[/?]")[1];
+            operations.add(new LoadOperation(name, parts[0], parts[1], Long.parseLong(parts[2]),
+                    parts.length == 4 ? parts[3] : null));
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Replay file " + file + " has no calls");
+        }
+    }
+
+    @Override
+    public LoadOperation next(SplittableRandom random) {
+        return operations.get(Math.floorMod(position.getAndIncrement(), operations.size()));
+    }
+}
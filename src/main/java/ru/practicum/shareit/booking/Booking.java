@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Where;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
@@ -9,12 +10,19 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_BOOKER, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")})
+@Where(clause = "deleted = false")
 @Table(name = "bookings", schema = "public")
 @Getter
 @Setter
 public class Booking {
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long id;
 
@@ -24,15 +32,21 @@ public class Booking {
     @Column(name = "end_date", nullable = false)
     private LocalDateTime endBooking;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id", nullable = false)
     private User booker;
 
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private BookingStatus status = BookingStatus.WAITING;
+
+    /**
+     * Set together with the deleted flag of the item or the booker, so queries don't have to look at those tables.
+     */
+    @Column(nullable = false)
+    private Boolean deleted = false;
 }
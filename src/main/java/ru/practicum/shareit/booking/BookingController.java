@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.StreamingDisabledException;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 
 import java.util.Comparator;
 import java.util.List;
@@ -13,10 +19,13 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectProvider<BookingReactiveService> bookingReactiveService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             ObjectProvider<BookingReactiveService> bookingReactiveService) {
         this.bookingService = bookingService;
+        this.bookingReactiveService = bookingReactiveService;
     }
 
     @PostMapping
@@ -27,7 +36,9 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDto findBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                      @PathVariable long bookingId) {
+                                      @PathVariable long bookingId,
+                                      @RequestParam(required = false) String fields) {
+        checkFields(fields);
         return bookingService.findBookingById(bookingId, userId);
     }
 
@@ -35,28 +46,76 @@ public class BookingController {
     public List<BookingDto> findBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                                  @RequestParam(defaultValue = "ALL", required = false) String state,
                                                  @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                 @RequestParam(required = false, defaultValue = "10") Integer size) {
+                                                 @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                 @RequestParam(required = false) String fields) {
+        checkFields(fields);
         return bookingService.findBookingsByBooker(bookerId, state, from, size)
                 .stream()
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(params = "ids")
+    public List<MultiGetEntry<BookingDto>> findBookingsByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @RequestParam List<Long> ids,
+                                                             @RequestParam(required = false) String fields) {
+        checkFields(fields);
+        return bookingService.findBookingsByIds(ids, userId);
+    }
+
     @GetMapping("/owner")
     public List<BookingDto> findBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                                 @RequestParam(defaultValue = "ALL", required = false) String state,
                                                 @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                @RequestParam(required = false, defaultValue = "10") Integer size) {
+                                                @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                @RequestParam(required = false) String fields) {
+        checkFields(fields);
         return bookingService.findBookingsByOwner(ownerId, state, from, size)
                 .stream()
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
     }
 
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BookingDto> streamBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                                   @RequestParam(defaultValue = "ALL", required = false) String state,
+                                                   @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                   @RequestParam(required = false, defaultValue = "10") Integer size) {
+        return getReactiveService().findBookingsByBooker(bookerId, state, from, size);
+    }
+
+    @GetMapping(path = "/owner/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BookingDto> streamBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                  @RequestParam(defaultValue = "ALL", required = false) String state,
+                                                  @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                  @RequestParam(required = false, defaultValue = "10") Integer size) {
+        return getReactiveService().findBookingsByOwner(ownerId, state, from, size);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveOrRejectBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                              @PathVariable long bookingId,
                                              @RequestParam boolean approved) {
         return bookingService.approveOrRejectBooking(ownerId, bookingId, approved);
     }
+
+    /**
+     * The streams need {@code spring.r2dbc.url}; without it they answer {@code 501 Not Implemented}.
+     */
+    private BookingReactiveService getReactiveService() {
+        BookingReactiveService service = bookingReactiveService.getIfAvailable();
+        if (service == null) {
+            throw new StreamingDisabledException();
+        }
+        return service;
+    }
+
+    /**
+     * Only validates the names. Bookings are read with one projection query, so there is no query to skip, and
+     * {@code SparseFieldsAdvice} trims the response.
+     */
+    private static void checkFields(String fields) {
+        FieldSet.parse(fields, BookingDto.FIELDS);
+    }
 }
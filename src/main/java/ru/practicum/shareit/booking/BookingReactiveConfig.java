@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Connection pool of the reactive read path, created only when {@code spring.r2dbc.url} is set. It is deliberately
+ * not exposed as a bean: a {@link ConnectionFactory} bean switches off the JDBC {@code DataSource}
+ * auto-configuration that JPA relies on. The pool comes on top of the JDBC one, so unless
+ * {@code spring.r2dbc.pool.max-size} is set it gets half as many connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.r2dbc.url")
+public class BookingReactiveConfig implements DisposableBean {
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient bookingDatabaseClient(@Value("${spring.r2dbc.url}") String url,
+                                                @Value("${spring.r2dbc.username:}") String username,
+                                                @Value("${spring.r2dbc.password:}") String password,
+                                                @Value("${spring.r2dbc.pool.max-size:0}") int maxSize,
+                                                @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+                                                int jdbcPoolSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(maxSize > 0 ? maxSize : Math.max(1, jdbcPoolSize / 2))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of the {@link BookingRepository} list queries. Rows are mapped straight to
+ * {@link BookingDto}, with the same soft-delete filters the entities apply.
+ */
+@Repository
+@ConditionalOnProperty(name = "spring.r2dbc.url")
+@RequiredArgsConstructor
+public class BookingReactiveRepository {
+    private static final String SELECT_BOOKINGS = "SELECT b.booking_id, b.start_date, b.end_date, b.status, " +
+            "i.item_id, i.name AS item_name, u.user_id, u.name AS booker_name " +
+            "FROM bookings AS b " +
+            "JOIN items AS i ON i.item_id = b.item_id " +
+            "JOIN users AS u ON u.user_id = b.booker_id " +
+            "WHERE b.deleted = false ";
+    private static final String ORDER_AND_PAGE = " ORDER BY b.start_date DESC LIMIT :limit OFFSET :offset";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsUserById(long userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS c FROM users WHERE user_id = :userId AND deleted = false")
+                .bind("userId", userId)
+                .map(row -> row.get("c", Long.class) > 0)
+                .one();
+    }
+
+    /**
+     * Finds bookings of a booker or of an owner's items. {@code stateCondition} is a fixed SQL fragment that may
+     * use the {@code :now} and {@code :status} parameters.
+     */
+    public Flux<BookingDto> findBookings(boolean byOwner, long userId, String stateCondition, BookingStatus status,
+                                         LocalDateTime now, long offset, int limit) {
+        String sql = SELECT_BOOKINGS + (byOwner ? "AND i.owner_id = :userId" : "AND b.booker_id = :userId") +
+                stateCondition + ORDER_AND_PAGE;
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("userId", userId)
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (sql.contains(":now")) {
+            spec = spec.bind("now", now);
+        }
+        if (sql.contains(":status")) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map((row, metadata) -> toBookingDto(row)).all();
+    }
+
+    private static BookingDto toBookingDto(Row row) {
+        return new BookingDto(row.get("booking_id", Long.class),
+                row.get("start_date", LocalDateTime.class),
+                row.get("end_date", LocalDateTime.class),
+                new ItemShortDto(row.get("item_id", Long.class), row.get("item_name", String.class)),
+                new UserShortDto(row.get("user_id", Long.class), row.get("booker_name", String.class)),
+                BookingStatus.valueOf(row.get("status", String.class)));
+    }
+}
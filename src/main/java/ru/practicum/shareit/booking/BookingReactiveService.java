@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+public interface BookingReactiveService {
+
+    Flux<BookingDto> findBookingsByBooker(long bookerId, String state, Integer from, Integer size);
+
+    Flux<BookingDto> findBookingsByOwner(long ownerId, String state, Integer from, Integer size);
+}
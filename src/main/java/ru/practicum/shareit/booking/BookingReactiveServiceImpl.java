@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.IncorrectStatusException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serves booking lists through R2DBC, so a request doesn't hold a thread while waiting for the database.
+ * Results match {@link BookingServiceImpl}, including pagination and error handling.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.r2dbc.url")
+@RequiredArgsConstructor
+@Slf4j
+public class BookingReactiveServiceImpl implements BookingReactiveService {
+    private final BookingReactiveRepository bookingReactiveRepository;
+
+    @Override
+    public Flux<BookingDto> findBookingsByBooker(long bookerId, String state, Integer from, Integer size) {
+        return findBookings(false, bookerId, state, from, size);
+    }
+
+    @Override
+    public Flux<BookingDto> findBookingsByOwner(long ownerId, String state, Integer from, Integer size) {
+        return findBookings(true, ownerId, state, from, size);
+    }
+
+    private Flux<BookingDto> findBookings(boolean byOwner, long userId, String state, Integer from, Integer size) {
+        checkPaginationParametersAreCorrect(from, size);
+        String stateCondition = toStateCondition(state);
+        BookingStatus status = "REJECTED".equals(state) ? BookingStatus.REJECTED : BookingStatus.WAITING;
+        return bookingReactiveRepository.existsUserById(userId)
+                .flatMapMany(exists -> {
+                    if (!exists) {
+                        log.info("Incorrect user id {}", userId);
+                        return Flux.error(new UserNotFoundException());
+                    }
+                    return bookingReactiveRepository.findBookings(byOwner, userId, stateCondition, status,
+                            LocalDateTime.now(), (long) from / size * size, size);
+                });
+    }
+
+    private static String toStateCondition(String state) {
+        switch (state) {
+            case "CURRENT":
+                return " AND b.start_date < :now AND b.end_date > :now";
+            case "PAST":
+                return " AND b.end_date < :now";
+            case "FUTURE":
+                return " AND b.start_date > :now";
+            case "WAITING":
+            case "REJECTED":
+                return " AND b.status = :status";
+            case "ALL":
+                return "";
+            default:
+                log.info("Incorrect state: {}", state);
+                throw new IncorrectStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    private static void checkPaginationParametersAreCorrect(Integer from, Integer size) {
+        if (from < 0) {
+            log.info("Parameter \"from\" have to be above or equals zero");
+            throw new ValidationException("Incorrect parameter \"from\"");
+        }
+        if (size <= 0) {
+            log.info("Parameter \"size\" have to be above zero");
+            throw new ValidationException("Incorrect parameter \"size\"");
+        }
+    }
+}
@@ -1,58 +1,86 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Booking lists select only the {@link BookingDto} columns in one join, without loading the item, its request
+     * and the booker as entities.
+     */
+    String SELECT_BOOKING_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.startBooking, " +
+            "b.endBooking, i.id, i.name, u.id, u.name, b.status) " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "JOIN b.booker AS u ";
 
-    List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findAllById(Iterable<Long> ids);
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE u.id = ?1")
+    List<BookingDto> findAllByBookerId(long bookerId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE u.id = ?1 " +
             "AND b.startBooking < CURRENT_TIMESTAMP " +
             "AND b.endBooking > CURRENT_TIMESTAMP ")
-    List<Booking> findAllCurrentBookingsByBookerId(long bookerId, Pageable pageable);
+    List<BookingDto> findAllCurrentBookingsByBookerId(long bookerId, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBookingIsBefore(long bookerId, LocalDateTime time, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE u.id = ?1 " +
+            "AND b.endBooking < ?2")
+    List<BookingDto> findAllByBookerIdAndEndBookingIsBefore(long bookerId, LocalDateTime time, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartBookingIsAfter(long bookerId, LocalDateTime time, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE u.id = ?1 " +
+            "AND b.startBooking > ?2")
+    List<BookingDto> findAllByBookerIdAndStartBookingIsAfter(long bookerId, LocalDateTime time, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE u.id = ?1 " +
+            "AND b.status = ?2")
+    List<BookingDto> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE b.startBooking < CURRENT_TIMESTAMP " +
             "AND b.endBooking > CURRENT_TIMESTAMP " +
-            "AND b.item.ownerId = ?1")
-    List<Booking> findAllCurrentBookingsByOwner(long ownerId, Pageable pageable);
+            "AND i.ownerId = ?1")
+    List<BookingDto> findAllCurrentBookingsByOwner(long ownerId, Pageable pageable);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE b.endBooking < CURRENT_TIMESTAMP " +
-            "AND b.item.ownerId = ?1")
-    List<Booking> findAllPastBookingsByOwner(long ownerId, Pageable pageable);
+            "AND i.ownerId = ?1")
+    List<BookingDto> findAllPastBookingsByOwner(long ownerId, Pageable pageable);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE b.startBooking > CURRENT_TIMESTAMP " +
-            "AND b.item.ownerId = ?1")
-    List<Booking> findAllFutureBookingsByOwner(long ownerId, Pageable pageable);
+            "AND i.ownerId = ?1")
+    List<BookingDto> findAllFutureBookingsByOwner(long ownerId, Pageable pageable);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
+    @Query(SELECT_BOOKING_DTO +
             "WHERE b.status = ?2 " +
-            "AND b.item.ownerId = ?1")
-    List<Booking> findAllBookingsByOwnerAndStatus(long ownerId, BookingStatus status, Pageable pageable);
+            "AND i.ownerId = ?1")
+    List<BookingDto> findAllBookingsByOwnerAndStatus(long ownerId, BookingStatus status, Pageable pageable);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.ownerId = ?1")
-    List<Booking> findAllBookingsByOwner(long ownerId, Pageable pageable);
+    @Query(SELECT_BOOKING_DTO +
+            "WHERE i.ownerId = ?1")
+    List<BookingDto> findAllBookingsByOwner(long ownerId, Pageable pageable);
 
     @Query("SELECT b " +
             "FROM Booking AS b " +
@@ -68,5 +96,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ORDER BY b.endBooking ASC")
     List<Booking> findFutureBookingsByItemId(long itemId);
 
+    /**
+     * The bookings {@link #findPastBookingsByItemId} would return first, for several items at once. An item can
+     * appear more than once when its bookings end at the same time.
+     */
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.endBooking = (SELECT MAX(p.endBooking) FROM Booking AS p " +
+            "WHERE p.item = b.item AND p.endBooking < CURRENT_TIMESTAMP)")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds);
+
+    /**
+     * The bookings {@link #findFutureBookingsByItemId} would return first, for several items at once.
+     */
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.startBooking > CURRENT_TIMESTAMP " +
+            "AND b.endBooking = (SELECT MIN(f.endBooking) FROM Booking AS f " +
+            "WHERE f.item = b.item AND f.startBooking > CURRENT_TIMESTAMP)")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds);
+
     List<Booking> findAllByItemId(long itemId);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Booking AS b SET b.deleted = true WHERE b.item.id = ?1")
+    int markDeletedByItemId(long itemId);
+
+    /**
+     * Marks the user's bookings and the bookings of the user's items. Must run before the items are marked.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Booking AS b SET b.deleted = true " +
+            "WHERE b.booker.id = ?1 OR b.item.id IN (SELECT i.id FROM Item AS i WHERE i.ownerId = ?1)")
+    int markDeletedByUserId(long userId);
+
+    /**
+     * Counts how many start and end dates of the item's bookings are already behind. The number grows every time
+     * a booking moves between the item's next and last booking, even when nothing is written.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN b.startBooking <= CURRENT_TIMESTAMP THEN 1 ELSE 0 END " +
+            "+ CASE WHEN b.endBooking < CURRENT_TIMESTAMP THEN 1 ELSE 0 END), 0) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1")
+    long countPassedBookingDatesByItemId(long itemId);
 }
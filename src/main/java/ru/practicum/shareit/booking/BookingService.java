@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 
 import java.util.List;
 
@@ -11,6 +12,11 @@ public interface BookingService {
 
     BookingDto findBookingById(long bookingId, long userId);
 
+    /**
+     * Reads the bookings with one query and reports a missing booking, or one the user can't see, in its entry.
+     */
+    List<MultiGetEntry<BookingDto>> findBookingsByIds(List<Long> ids, long userId);
+
     List<BookingDto> findBookingsByBooker(long bookerId, String state, Integer from, Integer size);
 
     List<BookingDto> findBookingsByOwner(long ownerId, String state, Integer from, Integer size);
@@ -5,34 +5,46 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.multiget.MultiGetEntry;
+import ru.practicum.shareit.multiget.MultiGetIds;
+import ru.practicum.shareit.routing.ReadFromReplica;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserExistenceChecker userExistenceChecker;
     private final ItemRepository itemRepository;
 
 
     @Override
+    @Transactional
     public BookingShortDto createBooking(BookingShortDto bookingDto, long bookerId) {
-        checkUserExist(bookerId);
+        userExistenceChecker.checkUserExist(bookerId);
         validateBooking(bookingDto, bookerId);
         bookingDto.setBookerId(bookerId);
-        return BookingMapper.toBookingShortDto(bookingRepository.save(BookingMapper.toBooking(bookingDto)));
+        BookingShortDto booking = BookingMapper.toBookingShortDto(bookingRepository.save(
+                BookingMapper.toBooking(bookingDto)));
+        itemRepository.incrementVersion(bookingDto.getItemId());
+        return booking;
     }
 
     @Override
+    @ReadFromReplica
     public BookingDto findBookingById(long bookingId, long userId) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(BookingNotFoundException::new);
         if (booking.getBooker().getId() != userId && booking.getItem().getOwnerId() != userId) {
@@ -43,31 +55,52 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @ReadFromReplica
+    public List<MultiGetEntry<BookingDto>> findBookingsByIds(List<Long> ids, long userId) {
+        List<Long> bookingIds = MultiGetIds.distinct(ids);
+        Map<Long, Booking> bookings = new HashMap<>((int) (bookingIds.size() / 0.75f) + 1);
+        for (Booking booking : bookingRepository.findAllById(bookingIds)) {
+            bookings.put(booking.getId(), booking);
+        }
+        List<MultiGetEntry<BookingDto>> result = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                result.add(MultiGetEntry.failed(bookingId, new BookingNotFoundException()));
+            } else if (booking.getBooker().getId() != userId && booking.getItem().getOwnerId() != userId) {
+                log.info("Incorrect user id {} for booking {}", userId, bookingId);
+                result.add(MultiGetEntry.failed(bookingId, new IncorrectUserIdException()));
+            } else {
+                result.add(MultiGetEntry.found(bookingId, BookingMapper.toBookingDto(booking)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @ReadFromReplica
     public List<BookingDto> findBookingsByBooker(long bookerId, String state, Integer from, Integer size) {
-        checkUserExist(bookerId);
+        userExistenceChecker.checkUserExist(bookerId);
         checkPaginationParametersAreCorrect(from, size);
         PageRequest pageable = PageRequest.of(from / size, size, Sort.by("startBooking").descending());
 
         switch (state) {
             case "CURRENT":
-                return BookingMapper.toBookingsDto(
-                        bookingRepository.findAllCurrentBookingsByBookerId(bookerId, pageable));
+                return bookingRepository.findAllCurrentBookingsByBookerId(bookerId, pageable);
             case "PAST":
-                return BookingMapper.toBookingsDto(
-                        bookingRepository.findAllByBookerIdAndEndBookingIsBefore(
-                                bookerId, LocalDateTime.now(), pageable));
+                return bookingRepository.findAllByBookerIdAndEndBookingIsBefore(
+                        bookerId, LocalDateTime.now(), pageable);
             case "FUTURE":
-                return BookingMapper.toBookingsDto(
-                        bookingRepository.findAllByBookerIdAndStartBookingIsAfter(
-                                bookerId, LocalDateTime.now(), pageable));
+                return bookingRepository.findAllByBookerIdAndStartBookingIsAfter(
+                        bookerId, LocalDateTime.now(), pageable);
             case "WAITING":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllByBookerIdAndStatus(
-                        bookerId, BookingStatus.WAITING, pageable));
+                return bookingRepository.findAllByBookerIdAndStatus(
+                        bookerId, BookingStatus.WAITING, pageable);
             case "REJECTED":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllByBookerIdAndStatus(bookerId,
-                        BookingStatus.REJECTED, pageable));
+                return bookingRepository.findAllByBookerIdAndStatus(bookerId,
+                        BookingStatus.REJECTED, pageable);
             case "ALL":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllByBookerId(bookerId, pageable));
+                return bookingRepository.findAllByBookerId(bookerId, pageable);
             default:
                 log.info("Incorrect state: {}", state);
                 throw new IncorrectStatusException("Unknown state: UNSUPPORTED_STATUS");
@@ -75,26 +108,27 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @ReadFromReplica
     public List<BookingDto> findBookingsByOwner(long ownerId, String state, Integer from, Integer size) {
-        checkUserExist(ownerId);
+        userExistenceChecker.checkUserExist(ownerId);
         checkPaginationParametersAreCorrect(from, size);
         PageRequest pageable = PageRequest.of(from / size, size, Sort.by("startBooking").descending());
 
         switch (state) {
             case "CURRENT":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllCurrentBookingsByOwner(ownerId, pageable));
+                return bookingRepository.findAllCurrentBookingsByOwner(ownerId, pageable);
             case "PAST":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllPastBookingsByOwner(ownerId, pageable));
+                return bookingRepository.findAllPastBookingsByOwner(ownerId, pageable);
             case "FUTURE":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllFutureBookingsByOwner(ownerId, pageable));
+                return bookingRepository.findAllFutureBookingsByOwner(ownerId, pageable);
             case "WAITING":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllBookingsByOwnerAndStatus(
-                        ownerId, BookingStatus.WAITING, pageable));
+                return bookingRepository.findAllBookingsByOwnerAndStatus(
+                        ownerId, BookingStatus.WAITING, pageable);
             case "REJECTED":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllBookingsByOwnerAndStatus(ownerId,
-                        BookingStatus.REJECTED, pageable));
+                return bookingRepository.findAllBookingsByOwnerAndStatus(ownerId,
+                        BookingStatus.REJECTED, pageable);
             case "ALL":
-                return BookingMapper.toBookingsDto(bookingRepository.findAllBookingsByOwner(ownerId, pageable));
+                return bookingRepository.findAllBookingsByOwner(ownerId, pageable);
             default:
                 log.info("Incorrect state: {}", state);
                 throw new IncorrectStatusException("Unknown state: UNSUPPORTED_STATUS");
@@ -104,7 +138,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingDto approveOrRejectBooking(long ownerId, long bookingId, boolean isApproved) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(BookingNotFoundException::new);
-        checkUserExist(ownerId);
+        userExistenceChecker.checkUserExist(ownerId);
         checkIsOwner(booking, ownerId);
 
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
@@ -149,13 +183,6 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void checkUserExist(Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
-            log.info("Incorrect user id {}", userId);
-            throw new UserNotFoundException();
-        }
-    }
-
     private void validateBooking(BookingShortDto bookingDto, long bookerId) {
         if (itemRepository.findById(bookingDto.getItemId()).isEmpty()) {
             log.info("Item with id {} not found", bookingDto.getItemId());
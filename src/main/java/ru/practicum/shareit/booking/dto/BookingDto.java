@@ -1,22 +1,37 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
-@AllArgsConstructor
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 @EqualsAndHashCode
+@JsonFilter(FieldSet.FILTER_ID)
 public class BookingDto {
+    public static final Set<String> FIELDS = Set.of("id", "start", "end", "item", "booker", "status");
+
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
     private ItemShortDto item;
     private UserShortDto booker;
     private BookingStatus status;
+
+    /**
+     * Flat constructor for the projection queries in {@code BookingRepository}.
+     */
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName, Long bookerId,
+                      String bookerName, BookingStatus status) {
+        this(id, start, end, new ItemShortDto(itemId, itemName), new UserShortDto(bookerId, bookerName), status);
+    }
 }
@@ -1,15 +1,13 @@
 package ru.practicum.shareit.booking.dto;
 
 import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemShortDto;
-import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserShortDto;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class BookingMapper {
 
@@ -18,9 +16,12 @@ public class BookingMapper {
         booking.setId(bookingDto.getId() != null ? bookingDto.getId() : null);
         booking.setStartBooking(bookingDto.getStart());
         booking.setEndBooking(bookingDto.getEnd());
-        booking.setItem(ItemMapper.toItem(new ItemDto(bookingDto.getItemId(), null, null, null,
-                null, null), null));
-        booking.setBooker(UserMapper.toUser(new UserDto(bookingDto.getBookerId(), null, null)));
+        Item item = new Item();
+        item.setId(bookingDto.getItemId());
+        booking.setItem(item);
+        User booker = new User();
+        booker.setId(bookingDto.getBookerId());
+        booking.setBooker(booker);
         booking.setStatus(bookingDto.getStatus());
         return booking;
     }
@@ -49,6 +50,10 @@ public class BookingMapper {
     }
 
     public static List<BookingDto> toBookingsDto(List<Booking> bookings) {
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        List<BookingDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(toBookingDto(booking));
+        }
+        return result;
     }
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStats {
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final double hitRatio;
+}
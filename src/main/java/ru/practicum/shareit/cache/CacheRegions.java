@@ -0,0 +1,38 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+import java.util.Map;
+
+/**
+ * Second-level cache regions and their default heap sizes in entries. Sizes can be overridden with
+ * {@code shareit.cache.regions.<region>}. The same manager also holds {@link #JSON_RESPONSES}, which Hibernate
+ * doesn't use.
+ */
+public final class CacheRegions {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+    public static final String REQUEST_ITEMS = "request-items";
+    public static final String ITEMS_BY_OWNER = "items-by-owner";
+    public static final String JSON_RESPONSES = "json-responses";
+    /**
+     * Query space declared by the native version bumps. Only uncached scalar queries read versions, so naming a
+     * space no entity uses keeps the bumps from evicting the entity regions and the query cache.
+     */
+    public static final String VERSIONS_SPACE = "entity_versions";
+
+    static final Map<String, Long> DEFAULT_SIZES = Map.of(
+            USERS, 10_000L,
+            ITEMS, 20_000L,
+            REQUESTS, 5_000L,
+            REQUEST_ITEMS, 5_000L,
+            ITEMS_BY_OWNER, 2_000L,
+            JSON_RESPONSES, 10_000L,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1_000L,
+            // Holds one entry per table. Evicting one would make cached queries on that table look fresh.
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1_000L);
+
+    private CacheRegions() {
+    }
+}
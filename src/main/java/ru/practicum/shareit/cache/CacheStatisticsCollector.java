@@ -0,0 +1,44 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-region hit ratios from Hibernate statistics, counted since start-up or the last {@link #reset()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheStatisticsCollector {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStats> getRegionStatistics() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        Set<String> regions = new TreeSet<>(sessionFactory.getCache().getCacheRegionNames());
+        List<CacheRegionStats> result = new ArrayList<>(regions.size());
+        for (String region : regions) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            result.add(new CacheRegionStats(region, hits, misses,
+                    regionStatistics.getPutCount(), hits + misses == 0 ? 0 : (double) hits / (hits + misses)));
+        }
+        return result;
+    }
+
+    public void reset() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics().clear();
+    }
+}
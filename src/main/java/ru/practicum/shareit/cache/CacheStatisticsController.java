@@ -0,0 +1,26 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/cache-stats")
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+    private final CacheStatisticsCollector cacheStatisticsCollector;
+
+    @GetMapping
+    public List<CacheRegionStats> getCacheStatistics() {
+        return cacheStatisticsCollector.getRegionStatistics();
+    }
+
+    @DeleteMapping
+    public void resetCacheStatistics() {
+        cacheStatisticsCollector.reset();
+    }
+}
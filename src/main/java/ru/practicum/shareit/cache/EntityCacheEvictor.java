@@ -0,0 +1,37 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.request.ItemRequest;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Evicts cache entries for changes Hibernate can't see: items are linked to requests through {@code Item.request},
+ * but {@code ItemRequest.items} is cached separately, and a deleted requester hides requests only through a
+ * {@code @Where} clause that cache lookups skip. The purge deletes rows with plain JDBC, which Hibernate doesn't see
+ * either.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private static final String REQUEST_ITEMS_ROLE = ItemRequest.class.getName() + ".items";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictRequestItems(long requestId) {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                .evictCollectionData(REQUEST_ITEMS_ROLE, requestId);
+    }
+
+    public void evictRequests() {
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+    }
+
+    /**
+     * Evicts entities, collections and cached queries after rows were removed with plain JDBC.
+     */
+    public void evictAll() {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.routing.RoutingContext;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of hot single-entity responses, kept together with the ETag it was rendered for. A lookup hits
+ * only when the stored ETag equals the current one, so a version bump alone makes an entry stale. Write paths evict
+ * entries as well, which frees the memory early instead of waiting for the region to push them out.
+ */
+@Component
+public class JsonResponseCache {
+    private final Cache<Object, Object> responses;
+    private final ObjectMapper objectMapper;
+
+    public JsonResponseCache(CacheManager secondLevelCacheManager, ObjectMapper objectMapper) {
+        this.responses = secondLevelCacheManager.getCache(CacheRegions.JSON_RESPONSES);
+        this.objectMapper = objectMapper;
+    }
+
+    public static String itemKey(long itemId) {
+        return "item-" + itemId;
+    }
+
+    public static String userKey(long userId) {
+        return "user-" + userId;
+    }
+
+    public static String requestKey(long requestId) {
+        return "request-" + requestId;
+    }
+
+    /**
+     * Returns the JSON cached under {@code key} for {@code eTag}, or serializes the loaded body and caches it. A body
+     * loaded from a read replica isn't cached, because the replica may still return an older row for the same ETag.
+     */
+    public byte[] getOrRender(String key, String eTag, Supplier<?> loader) {
+        Object cached = responses.get(key);
+        if (cached instanceof RenderedJson && ((RenderedJson) cached).getETag().equals(eTag)) {
+            return ((RenderedJson) cached).getBody();
+        }
+        long replicaReads = RoutingContext.replicaReads();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (RoutingContext.replicaReads() == replicaReads) {
+            responses.put(key, new RenderedJson(eTag, body));
+        }
+        return body;
+    }
+
+    /**
+     * Evicts the entry now and once more after commit, so a reader that rendered the old state in between doesn't
+     * leave it behind.
+     */
+    public void evict(String key) {
+        responses.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.remove(key);
+                }
+            });
+        }
+    }
+
+    @Value
+    private static class RenderedJson {
+        String eTag;
+        byte[] body;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class EmailAlreadyExistsException extends RuntimeException {
+    public EmailAlreadyExistsException() {
+        super("This email is already in use");
+    }
+}
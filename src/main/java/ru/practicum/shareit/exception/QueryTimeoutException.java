@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class QueryTimeoutException extends RuntimeException {
+    public QueryTimeoutException() {
+        super("The request took too long, try again later");
+    }
+}
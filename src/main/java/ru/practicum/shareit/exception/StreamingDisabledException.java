@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class StreamingDisabledException extends RuntimeException {
+    public StreamingDisabledException() {
+        super("Booking streams are not configured on this server");
+    }
+}
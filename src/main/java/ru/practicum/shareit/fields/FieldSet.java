@@ -0,0 +1,71 @@
+package ru.practicum.shareit.fields;
+
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Top-level response fields a client asked for with {@code fields=id,name}. Services skip the queries behind fields
+ * that aren't selected, and {@link SparseFieldsAdvice} leaves those fields out of the response.
+ */
+@EqualsAndHashCode
+public final class FieldSet {
+    public static final String PARAMETER = "fields";
+    public static final String FILTER_ID = "fields";
+    public static final FieldSet ALL = new FieldSet(null);
+
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSet of(String... fields) {
+        return new FieldSet(Collections.unmodifiableSet(new TreeSet<>(Set.of(fields))));
+    }
+
+    /**
+     * Parses a comma-separated list of fields, all of which must be in {@code known}. A missing or blank list
+     * selects every field.
+     */
+    public static FieldSet parse(String fields, Set<String> known) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new ValidationException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSet(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Returns the selected fields, or {@code null} when every field is selected.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.fields;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes only the fields named in the {@code fields} parameter. The filter applies to DTOs annotated with
+ * {@code @JsonFilter(FieldSet.FILTER_ID)}; nested objects and other DTOs are written in full.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FieldSet.PARAMETER);
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+        MappingJacksonValue container = body instanceof MappingJacksonValue
+                ? (MappingJacksonValue) body : new MappingJacksonValue(body);
+        container.setFilters(new SimpleFilterProvider().addFilter(FieldSet.FILTER_ID,
+                SimpleBeanPropertyFilter.filterOutAllExcept(fields.replace(" ", "").split(","))));
+        return container;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.format;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+public final class BinaryFormats {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private static final List<MediaType> BINARY_TYPES = List.of(MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    private BinaryFormats() {
+    }
+
+    /**
+     * Tells whether the client names CBOR or Smile in {@code Accept}. Handlers that write JSON themselves, such as
+     * the ones serving cached JSON, use it to leave such requests to the message converters.
+     */
+    public static boolean isAccepted(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                for (MediaType binaryType : BINARY_TYPES) {
+                    if (binaryType.equalsTypeAndSubtype(mediaType)) {
+                        return true;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -1,10 +1,18 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.format.BinaryFormats;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -13,10 +21,12 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final JsonResponseCache jsonResponseCache;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, JsonResponseCache jsonResponseCache) {
         this.itemService = itemService;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @PostMapping()
@@ -35,14 +45,36 @@ public class ItemController {
     @GetMapping
     public List<ItemBookingDto> getAllItemsByOwner(@RequestHeader(value = "X-Sharer-User-Id") long userId,
                                                    @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                   @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return itemService.getAllItemsByOwner(userId, from, size);
+                                                   @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                   @RequestParam(required = false) String fields) {
+        return itemService.getAllItemsByOwner(userId, from, size, FieldSet.parse(fields, ItemBookingDto.FIELDS));
+    }
+
+    @GetMapping(params = "ids")
+    public List<MultiGetEntry<ItemBookingDto>> findItemsByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestParam List<Long> ids,
+                                                              @RequestParam(required = false) String fields) {
+        return itemService.findItemsByIds(ids, userId, FieldSet.parse(fields, ItemBookingDto.FIELDS));
     }
 
     @GetMapping("/{id}")
-    public ItemBookingDto findItemById(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
-                                       @PathVariable(value = "id") long itemId) {
-        return itemService.findItemById(itemId, userId);
+    public ResponseEntity<?> findItemById(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+                                          @PathVariable(value = "id") long itemId,
+                                          @RequestParam(required = false) String fields,
+                                          ServletWebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields, ItemBookingDto.FIELDS);
+        request.getResponse().addHeader(HttpHeaders.VARY, "X-Sharer-User-Id");
+        String eTag = "item-" + itemId + "-" + itemService.getItemVersion(itemId, userId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (!fieldSet.isAll() || BinaryFormats.isAccepted(request)) {
+            return ResponseEntity.ok(itemService.findItemById(itemId, userId, fieldSet));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonResponseCache.getOrRender(JsonResponseCache.itemKey(itemId), eTag,
+                        () -> itemService.findItemById(itemId, userId)));
     }
 
     @DeleteMapping("/{id}")
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 
 import java.util.List;
 
@@ -14,8 +16,33 @@ public interface ItemService {
 
     List<ItemBookingDto> getAllItemsByOwner(long userId, Integer from, Integer size);
 
+    /**
+     * Same as {@link #getAllItemsByOwner(long, Integer, Integer)}, but skips the booking lookups for fields that
+     * aren't selected.
+     */
+    List<ItemBookingDto> getAllItemsByOwner(long userId, Integer from, Integer size, FieldSet fields);
+
     ItemBookingDto findItemById(long itemId, Long userId);
 
+    /**
+     * Same as {@link #findItemById(long, Long)}, but skips the booking and comment lookups for fields that aren't
+     * selected.
+     */
+    ItemBookingDto findItemById(long itemId, Long userId, FieldSet fields);
+
+    /**
+     * Returns the items in the order of {@code ids}, as {@link #findItemById} would show each of them to the user.
+     * Items are read with one query, and bookings and comments with one query per kind for all items together.
+     * A missing item is reported in its entry.
+     */
+    List<MultiGetEntry<ItemBookingDto>> findItemsByIds(List<Long> ids, long userId, FieldSet fields);
+
+    /**
+     * Returns a version of the item as {@link #findItemById} would show it to the user. The owner's version also
+     * changes when a booking becomes the last or the next one.
+     */
+    String getItemVersion(long itemId, Long userId);
+
     void deleteItem(long itemId, long userId);
 
     List<ItemDto> findItemsByNameOrDescription(String text, Integer from, Integer size);
@@ -4,14 +4,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.JsonResponseCache;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemVersion;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.multiget.MultiGetEntry;
+import ru.practicum.shareit.multiget.MultiGetIds;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.routing.ReadFromReplica;
+import ru.practicum.shareit.threads.QueryFanOut;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -24,43 +38,69 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
 
     private final UserRepository userRepository;
+    private final UserExistenceChecker userExistenceChecker;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final QueryFanOut queryFanOut;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final JsonResponseCache jsonResponseCache;
 
     @Override
+    @Transactional
     public ItemDto createItem(ItemDto itemDto, long userId) {
         checkItemValid(itemDto);
-        checkUserExist(userId);
-        return ItemMapper.toItemDto(itemRepository.save(ItemMapper.toItem(itemDto, userId)));
+        userExistenceChecker.checkUserExist(userId);
+        Item item = itemRepository.save(ItemMapper.toItem(itemDto, userId));
+        markRequestChanged(item);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(ItemDto itemDto, long userId, long itemId) {
-        checkUserExist(userId);
+        userExistenceChecker.checkUserExist(userId);
         if (itemRepository.getReferenceById(itemId).getOwnerId() != userId) {
             log.info("Incorrect user id {}", userId);
             throw new IncorrectUserIdException();
         }
-        return ItemMapper.toItemDto(itemRepository.save(ItemMapper.toUpdateItem(
-                itemRepository.getReferenceById(itemId), ItemMapper.toItem(itemDto, userId))));
+        Item item = itemRepository.save(ItemMapper.toUpdateItem(
+                itemRepository.getReferenceById(itemId), ItemMapper.toItem(itemDto, userId)));
+        itemRepository.incrementVersion(itemId);
+        jsonResponseCache.evict(JsonResponseCache.itemKey(itemId));
+        markRequestChanged(item);
+        return ItemMapper.toItemDto(item);
     }
 
     @Override
+    @ReadFromReplica
     public List<ItemBookingDto> getAllItemsByOwner(long userId, Integer from, Integer size) {
-        checkUserExist(userId);
+        return getAllItemsByOwner(userId, from, size, FieldSet.ALL);
+    }
+
+    @Override
+    @ReadFromReplica
+    public List<ItemBookingDto> getAllItemsByOwner(long userId, Integer from, Integer size, FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
         checkPaginationParametersAreCorrect(from, size);
 
         List<ItemBookingDto> items = ItemMapper.toItemsBookingDto(itemRepository.findAllByOwnerId(
                 userId, PageRequest.of(from / size, size)));
+        boolean withLastBooking = fields.includes(ItemBookingDto.LAST_BOOKING);
+        boolean withNextBooking = fields.includes(ItemBookingDto.NEXT_BOOKING);
         for (ItemBookingDto item : items) {
-            List<Booking> lastBookings = bookingRepository.findPastBookingsByItemId(item.getId());
-            List<Booking> nextBookings = bookingRepository.findFutureBookingsByItemId(item.getId());
-            if (!lastBookings.isEmpty()) {
-                item.setLastBooking(BookingMapper.toBookingForItemDto(lastBookings.get(0)));
+            if (withLastBooking) {
+                List<Booking> lastBookings = bookingRepository.findPastBookingsByItemId(item.getId());
+                if (!lastBookings.isEmpty()) {
+                    item.setLastBooking(BookingMapper.toBookingForItemDto(lastBookings.get(0)));
+                }
             }
-            if (!nextBookings.isEmpty()) {
-                item.setNextBooking(BookingMapper.toBookingForItemDto(nextBookings.get(0)));
+            if (withNextBooking) {
+                List<Booking> nextBookings = bookingRepository.findFutureBookingsByItemId(item.getId());
+                if (!nextBookings.isEmpty()) {
+                    item.setNextBooking(BookingMapper.toBookingForItemDto(nextBookings.get(0)));
+                }
             }
         }
 
@@ -71,58 +111,149 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @ReadFromReplica
     public ItemBookingDto findItemById(long itemId, Long userId) {
-        checkUserExist(userId);
+        return findItemById(itemId, userId, FieldSet.ALL);
+    }
+
+    @Override
+    @ReadFromReplica
+    public ItemBookingDto findItemById(long itemId, Long userId, FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
         ItemBookingDto item = ItemMapper.toItemBookingDto(itemRepository.findById(itemId)
                 .orElseThrow(ItemNotFoundException::new));
-        if (Objects.equals(item.getOwnerId(), userId)) {
-            List<Booking> lastBookings = bookingRepository.findPastBookingsByItemId(itemId);
-            List<Booking> nextBookings = bookingRepository.findFutureBookingsByItemId(itemId);
-            if (!lastBookings.isEmpty()) {
-                item.setLastBooking(BookingMapper.toBookingForItemDto(lastBookings.get(0)));
+        List<Runnable> queries = new ArrayList<>(3);
+        boolean isOwner = Objects.equals(item.getOwnerId(), userId);
+        if (isOwner && fields.includes(ItemBookingDto.LAST_BOOKING)) {
+            queries.add(() -> {
+                List<Booking> lastBookings = bookingRepository.findPastBookingsByItemId(itemId);
+                if (!lastBookings.isEmpty()) {
+                    item.setLastBooking(BookingMapper.toBookingForItemDto(lastBookings.get(0)));
+                }
+            });
+        }
+        if (isOwner && fields.includes(ItemBookingDto.NEXT_BOOKING)) {
+            queries.add(() -> {
+                List<Booking> nextBookings = bookingRepository.findFutureBookingsByItemId(itemId);
+                if (!nextBookings.isEmpty()) {
+                    item.setNextBooking(BookingMapper.toBookingForItemDto(nextBookings.get(0)));
+                }
+            });
+        }
+        if (fields.includes(ItemBookingDto.COMMENTS)) {
+            queries.add(() -> {
+                Set<Comment> comments = commentRepository.findCommentsByItem_Id(itemId);
+                if (!comments.isEmpty()) {
+                    item.setComments(CommentMapper.toCommentsDto(comments));
+                }
+            });
+        }
+        queryFanOut.runAll(queries);
+        return item;
+    }
+
+    @Override
+    @ReadFromReplica
+    public List<MultiGetEntry<ItemBookingDto>> findItemsByIds(List<Long> ids, long userId, FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
+        List<Long> itemIds = MultiGetIds.distinct(ids);
+        Map<Long, ItemBookingDto> items = new HashMap<>((int) (itemIds.size() / 0.75f) + 1);
+        List<Long> ownItemIds = new ArrayList<>();
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            items.put(item.getId(), ItemMapper.toItemBookingDto(item));
+            if (item.getOwnerId() == userId) {
+                ownItemIds.add(item.getId());
             }
-            if (!nextBookings.isEmpty()) {
-                item.setNextBooking(BookingMapper.toBookingForItemDto(nextBookings.get(0)));
+        }
+        if (!ownItemIds.isEmpty() && fields.includes(ItemBookingDto.LAST_BOOKING)) {
+            for (Booking booking : bookingRepository.findLastBookingsByItemIds(ownItemIds)) {
+                ItemBookingDto item = items.get(booking.getItem().getId());
+                if (item.getLastBooking() == null) {
+                    item.setLastBooking(BookingMapper.toBookingForItemDto(booking));
+                }
             }
         }
-        Set<Comment> comments = commentRepository.findCommentsByItem_Id(itemId);
-        if (!comments.isEmpty()) {
-            item.setComments(CommentMapper.toCommentsDto(comments));
+        if (!ownItemIds.isEmpty() && fields.includes(ItemBookingDto.NEXT_BOOKING)) {
+            for (Booking booking : bookingRepository.findNextBookingsByItemIds(ownItemIds)) {
+                ItemBookingDto item = items.get(booking.getItem().getId());
+                if (item.getNextBooking() == null) {
+                    item.setNextBooking(BookingMapper.toBookingForItemDto(booking));
+                }
+            }
         }
-        return item;
+        if (!items.isEmpty() && fields.includes(ItemBookingDto.COMMENTS)) {
+            Map<Long, Set<CommentShortDto>> comments = new HashMap<>();
+            for (Comment comment : commentRepository.findAllByItem_IdIn(items.keySet())) {
+                comments.computeIfAbsent(comment.getItem().getId(), id -> new HashSet<>())
+                        .add(CommentMapper.toCommentShortDto(comment));
+            }
+            comments.forEach((itemId, itemComments) -> items.get(itemId).setComments(itemComments));
+        }
+
+        List<MultiGetEntry<ItemBookingDto>> result = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            ItemBookingDto item = items.get(itemId);
+            result.add(item == null
+                    ? MultiGetEntry.failed(itemId, new ItemNotFoundException())
+                    : MultiGetEntry.found(itemId, item));
+        }
+        return result;
     }
 
     @Override
+    @ReadFromReplica
+    public String getItemVersion(long itemId, Long userId) {
+        userExistenceChecker.checkUserExist(userId);
+        ItemVersion version = itemRepository.findVersionById(itemId).orElseThrow(ItemNotFoundException::new);
+        if (Objects.equals(version.getOwnerId(), userId)) {
+            return version.getVersion() + "-" + bookingRepository.countPassedBookingDatesByItemId(itemId);
+        }
+        return String.valueOf(version.getVersion());
+    }
+
+    @Override
+    @Transactional
     public void deleteItem(long itemId, long userId) {
-        checkUserExist(userId);
-        if (itemRepository.getReferenceById(itemId).getOwnerId() != userId) {
+        userExistenceChecker.checkUserExist(userId);
+        Item item = itemRepository.getReferenceById(itemId);
+        if (item.getOwnerId() != userId) {
             log.info("Incorrect user id {}", userId);
             throw new IncorrectUserIdException();
         }
-        itemRepository.deleteById(itemId);
+        ItemRequest request = item.getRequest();
+        bookingRepository.markDeletedByItemId(itemId);
+        commentRepository.markDeletedByItemId(itemId);
+        itemRepository.markDeleted(itemId);
+        jsonResponseCache.evict(JsonResponseCache.itemKey(itemId));
+        if (request != null) {
+            itemRequestRepository.incrementVersion(request.getId());
+            jsonResponseCache.evict(JsonResponseCache.requestKey(request.getId()));
+        }
     }
 
     @Override
+    @ReadFromReplica
     public List<ItemDto> findItemsByNameOrDescription(String text, Integer from, Integer size) {
         checkPaginationParametersAreCorrect(from, size);
         if (text != null && !text.isBlank()) {
             String textForSearch = text.toLowerCase();
-            return ItemMapper.toItemsDto(itemRepository.findAll(
-                            PageRequest.of(from / size, size)).stream().collect(Collectors.toList()))
-                    .stream()
-                    .filter(i -> i.getName().toLowerCase().contains(textForSearch)
-                            || i.getDescription().toLowerCase().contains(textForSearch))
-                    .filter(ItemDto::getIsAvailable)
-                    .collect(Collectors.toList());
+            List<Item> page = itemRepository.findAll(PageRequest.of(from / size, size)).getContent();
+            List<ItemDto> found = new ArrayList<>(page.size());
+            for (Item item : page) {
+                if ((item.getName().toLowerCase().contains(textForSearch)
+                        || item.getDescription().toLowerCase().contains(textForSearch)) && item.getIsAvailable()) {
+                    found.add(ItemMapper.toItemDto(item));
+                }
+            }
+            return found;
         }
         return new ArrayList<>();
     }
 
     @Override
+    @Transactional
     public CommentDto createCommentToItem(long authorId, CommentDto commentDto, long itemId) {
-        if (userRepository.findById(authorId).isEmpty()) {
-            throw new UserNotFoundException();
-        }
+        User author = userRepository.findById(authorId).orElseThrow(UserNotFoundException::new);
         if (commentDto.getText().isBlank() || commentDto.getText().isEmpty()) {
             throw new ValidationException("Comment can't be empty");
         }
@@ -139,15 +270,25 @@ public class ItemServiceImpl implements ItemService {
                 comment = CommentMapper.toCommentDto(commentRepository.save(
                         CommentMapper.toComment(commentDto, authorId, itemId)));
                 comment.setItem(ItemMapper.toItemShortDto(itemRepository.getReferenceById(itemId)));
-                comment.setAuthorName(userRepository.findById(authorId).get().getName());
+                comment.setAuthorName(author.getName());
             }
         }
         if (comment == null) {
             throw new ValidationException("User has not reserved this item");
         }
+        itemRepository.incrementVersion(itemId);
+        jsonResponseCache.evict(JsonResponseCache.itemKey(itemId));
         return comment;
     }
 
+    private void markRequestChanged(Item item) {
+        if (item.getRequest() != null) {
+            itemRequestRepository.incrementVersion(item.getRequest().getId());
+            entityCacheEvictor.evictRequestItems(item.getRequest().getId());
+            jsonResponseCache.evict(JsonResponseCache.requestKey(item.getRequest().getId()));
+        }
+    }
+
     private void checkItemValid(ItemDto item) {
         if (item.getName() == null || item.getName().isBlank()) {
             log.info("Field \"name\" doesn't filled");
@@ -173,11 +314,4 @@ public class ItemServiceImpl implements ItemService {
             throw new ValidationException("Incorrect parameter \"size\"");
         }
     }
-
-    private void checkUserExist(Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
-            log.info("Incorrect user id {}", userId);
-            throw new UserNotFoundException();
-        }
-    }
 }
\ No newline at end of file
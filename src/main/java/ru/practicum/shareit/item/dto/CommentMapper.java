@@ -1,12 +1,12 @@
 package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class CommentMapper {
 
@@ -14,9 +14,12 @@ public class CommentMapper {
         Comment comment = new Comment();
         comment.setId(commentDto.getId());
         comment.setText(commentDto.getText());
-        comment.setItem(ItemMapper.toItem(new ItemDto(itemId, null, null, null,
-                null, null), null));
-        comment.setAuthor(UserMapper.toUser(new UserDto(authorId, null, null)));
+        Item item = new Item();
+        item.setId(itemId);
+        comment.setItem(item);
+        User author = new User();
+        author.setId(authorId);
+        comment.setAuthor(author);
         comment.setCreated(LocalDateTime.now());
 
         return comment;
@@ -38,6 +41,10 @@ public class CommentMapper {
     }
 
     public static Set<CommentShortDto> toCommentsDto(Set<Comment> comments) {
-        return comments.stream().map(CommentMapper::toCommentShortDto).collect(Collectors.toSet());
+        Set<CommentShortDto> result = new HashSet<>((int) (comments.size() / 0.75f) + 1);
+        for (Comment comment : comments) {
+            result.add(toCommentShortDto(comment));
+        }
+        return result;
     }
 }
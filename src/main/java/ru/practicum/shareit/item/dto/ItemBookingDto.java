@@ -1,15 +1,24 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.fields.FieldSet;
 
 import java.util.Set;
 
 @Data
 @AllArgsConstructor
+@JsonFilter(FieldSet.FILTER_ID)
 public class ItemBookingDto {
+    public static final String LAST_BOOKING = "lastBooking";
+    public static final String NEXT_BOOKING = "nextBooking";
+    public static final String COMMENTS = "comments";
+    public static final Set<String> FIELDS = Set.of("id", "ownerId", "name", "description", "available",
+            LAST_BOOKING, NEXT_BOOKING, COMMENTS);
+
     private Long id;
     private Long ownerId;
     private String name;
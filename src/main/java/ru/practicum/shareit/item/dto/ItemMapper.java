@@ -3,9 +3,10 @@ package ru.practicum.shareit.item.dto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ItemMapper {
 
@@ -17,7 +18,7 @@ public class ItemMapper {
         item.setDescription(itemDto.getDescription());
         item.setIsAvailable(itemDto.getIsAvailable());
         item.setRequest(itemDto.getRequestId() == null ? item.getRequest() : new ItemRequest(
-                itemDto.getRequestId(), null, null, null, null));
+                itemDto.getRequestId(), null, null, null, null, null, false));
         return item;
     }
 
@@ -38,7 +39,7 @@ public class ItemMapper {
                 item.getIsAvailable(),
                 null,
                 null,
-                new HashSet<>());
+                Collections.emptySet());
     }
 
     public static ItemShortDto toItemShortDto(Item item) {
@@ -55,10 +56,18 @@ public class ItemMapper {
     }
 
     public static List<ItemBookingDto> toItemsBookingDto(List<Item> items) {
-        return items.stream().map(ItemMapper::toItemBookingDto).collect(Collectors.toList());
+        List<ItemBookingDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(toItemBookingDto(item));
+        }
+        return result;
     }
 
-    public static List<ItemDto> toItemsDto(List<Item> items) {
-        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+    public static List<ItemDto> toItemsDto(Collection<Item> items) {
+        List<ItemDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(toItemDto(item));
+        }
+        return result;
     }
 }
\ No newline at end of file
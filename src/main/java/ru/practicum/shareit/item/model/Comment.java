@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.model;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Where;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -10,13 +11,18 @@ import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = Comment.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
+@Where(clause = "deleted = false")
 @Table(name = "comments", schema = "public")
 @Getter
 @Setter
 @ToString
 public class Comment {
+    public static final String WITH_AUTHOR = "Comment.withAuthor";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     @Column(name = "comment_id")
     private Long id;
 
@@ -24,13 +30,21 @@ public class Comment {
     @Column(nullable = false)
     private String text;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
+    @ToString.Exclude
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
     private User author;
 
     private LocalDateTime created;
+
+    /**
+     * Set together with the deleted flag of the item or the author, so queries don't have to look at those tables.
+     */
+    @Column(nullable = false)
+    private Boolean deleted = false;
 }
@@ -3,19 +3,27 @@ package ru.practicum.shareit.item.model;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.request.ItemRequest;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEMS)
+@Where(clause = "deleted = false")
 @Table(name = "items", schema = "public")
 @Getter
 @Setter
 @ToString
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
 
@@ -32,7 +40,18 @@ public class Item {
     @Column(name = "available")
     private Boolean isAvailable;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
+    @ToString.Exclude
     private ItemRequest request;
-}
\ No newline at end of file
+
+    @Column(nullable = false)
+    private Boolean deleted = false;
+
+    /**
+     * Incremented by the services on every write that changes the entity's representation. Never written by
+     * Hibernate, so a stale entity can't roll it back.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long version;
+}
@@ -1,11 +1,35 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(Comment.WITH_AUTHOR)
     Set<Comment> findCommentsByItem_Id(long itemId);
+
+    @EntityGraph(Comment.WITH_AUTHOR)
+    List<Comment> findAllByItem_IdIn(Collection<Long> itemIds);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Comment AS c SET c.deleted = true WHERE c.item.id = ?1")
+    int markDeletedByItemId(long itemId);
+
+    /**
+     * Marks the user's comments and the comments on the user's items. Must run before the items are marked.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Comment AS c SET c.deleted = true " +
+            "WHERE c.author.id = ?1 OR c.item.id IN (SELECT i.id FROM Item AS i WHERE i.ownerId = ?1)")
+    int markDeletedByUserId(long userId);
 }
@@ -3,13 +3,60 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.ITEMS_BY_OWNER)})
     List<Item> findAllByOwnerId(long ownerId, Pageable pageable);
 
     Page<Item> findAll(Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Item AS i SET i.deleted = true WHERE i.id = ?1")
+    int markDeleted(long id);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Item AS i SET i.deleted = true WHERE i.ownerId = ?1")
+    int markDeletedByOwnerId(long ownerId);
+
+    @Query("SELECT i.ownerId AS ownerId, i.version AS version FROM Item AS i WHERE i.id = ?1")
+    Optional<ItemVersion> findVersionById(long id);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE items SET version = version + 1 WHERE item_id = ?1", nativeQuery = true)
+    int incrementVersion(long id);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE items SET version = version + 1 " +
+            "WHERE item_id IN (SELECT item_id FROM comments WHERE author_id = ?1)", nativeQuery = true)
+    int incrementVersionsByCommentAuthorId(long authorId);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE items SET version = version + 1 " +
+            "WHERE item_id IN (SELECT item_id FROM bookings WHERE booker_id = ?1)", nativeQuery = true)
+    int incrementVersionsByBookerId(long bookerId);
 }
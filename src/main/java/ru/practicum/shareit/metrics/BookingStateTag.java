@@ -0,0 +1,22 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Set;
+
+/**
+ * Keeps the {@code state} tag to a fixed set of values, so arbitrary request parameters can't create new series.
+ */
+public final class BookingStateTag {
+    static final String NONE = "none";
+    static final String UNSUPPORTED = "UNSUPPORTED";
+    private static final Set<String> STATES = Set.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+
+    private BookingStateTag() {
+    }
+
+    public static String of(Object state) {
+        if (state == null) {
+            return NONE;
+        }
+        return STATES.contains(state.toString()) ? state.toString() : UNSUPPORTED;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.multiget;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One id of a multi-get response: either the found value, or the error the single-id endpoint would have returned.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MultiGetEntry<T> {
+    private final long id;
+    private final T value;
+    private final String error;
+
+    public static <T> MultiGetEntry<T> found(long id, T value) {
+        return new MultiGetEntry<>(id, value, null);
+    }
+
+    public static <T> MultiGetEntry<T> failed(long id, RuntimeException error) {
+        return new MultiGetEntry<>(id, null, error.getMessage());
+    }
+}
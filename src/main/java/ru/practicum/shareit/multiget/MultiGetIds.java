@@ -0,0 +1,26 @@
+package ru.practicum.shareit.multiget;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public final class MultiGetIds {
+    public static final int MAX_IDS = 100;
+
+    private MultiGetIds() {
+    }
+
+    /**
+     * Drops repeated ids, keeping the order of the first occurrences.
+     */
+    public static List<Long> distinct(List<Long> ids) {
+        LinkedHashSet<Long> result = new LinkedHashSet<>(ids);
+        result.remove(null);
+        if (result.size() > MAX_IDS) {
+            throw new ValidationException("No more than " + MAX_IDS + " ids can be requested at once");
+        }
+        return new ArrayList<>(result);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.purge;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.user.UserExistenceChecker;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Physically removes users and items that were soft-deleted, together with their bookings, comments and requests.
+ * Rows are removed in small batches, each in its own statement, so no request waits for a long cascade. Items of
+ * other users that answered a purged request are kept: their request is unlinked and their version bumped first,
+ * so the request delete cascades to nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeletedDataPurger {
+    private static final String DELETED_ITEMS = "SELECT item_id FROM items WHERE deleted = true";
+    private static final String DELETED_REQUESTS = "SELECT request_id FROM requests WHERE deleted = true";
+    private static final List<String> PURGE_STATEMENTS = List.of(
+            "DELETE FROM comments WHERE comment_id IN (SELECT comment_id FROM comments WHERE deleted = true LIMIT ?)",
+            "DELETE FROM bookings WHERE booking_id IN (SELECT booking_id FROM bookings WHERE deleted = true LIMIT ?)",
+            "DELETE FROM items WHERE item_id IN (" + DELETED_ITEMS + " LIMIT ?)",
+            "UPDATE items SET request_id = NULL, version = version + 1 WHERE item_id IN (SELECT item_id FROM items " +
+                    "WHERE request_id IN (" + DELETED_REQUESTS + ") LIMIT ?)",
+            "DELETE FROM requests WHERE request_id IN (" + DELETED_REQUESTS + " LIMIT ?)");
+    private static final String PURGE_USERS = "DELETE FROM users WHERE user_id IN (SELECT user_id FROM users " +
+            "WHERE deleted = true AND deleted_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    @Value("${shareit.purge.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Keeps deleted user rows long enough for every instance's {@link UserExistenceChecker#refresh()} to see them.
+     */
+    @Value("${shareit.purge.user-retention-ms:300000}")
+    private long userRetentionMillis;
+
+    @Scheduled(initialDelayString = "${shareit.purge.delay:60000}", fixedDelayString = "${shareit.purge.delay:60000}")
+    public int purge() {
+        int purged = 0;
+        for (String statement : PURGE_STATEMENTS) {
+            purged += purgeInBatches(statement);
+        }
+        purged += purgeInBatches(PURGE_USERS, LocalDateTime.now().minus(userRetentionMillis, ChronoUnit.MILLIS));
+        if (purged > 0) {
+            entityCacheEvictor.evictAll();
+            log.info("Purged {} soft-deleted rows", purged);
+        }
+        return purged;
+    }
+
+    private int purgeInBatches(String statement, Object... args) {
+        Object[] batchArgs = Arrays.copyOf(args, args.length + 1);
+        batchArgs[args.length] = batchSize;
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(statement, batchArgs);
+            purged += deleted;
+        } while (deleted == batchSize);
+        return purged;
+    }
+}
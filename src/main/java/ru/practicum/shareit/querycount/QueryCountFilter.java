@@ -0,0 +1,53 @@
+package ru.practicum.shareit.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts statements per HTTP request, records them as {@code shareit.http.queries} and logs requests that exceed
+ * {@code shareit.query-count.warn-threshold}, which usually means a per-row query loop.
+ */
+@Component
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int warnThreshold;
+
+    public QueryCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${shareit.query-count.warn-threshold:10}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = QueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            meterRegistry.ifAvailable(registry -> DistributionSummary.builder("shareit.http.queries")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry)
+                    .record(count));
+            if (count > warnThreshold) {
+                log.warn("{} {} executed {} queries", request.getMethod(), uri, count);
+            }
+        }
+    }
+}
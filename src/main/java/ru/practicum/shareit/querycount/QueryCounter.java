@@ -0,0 +1,34 @@
+package ru.practicum.shareit.querycount;
+
+/**
+ * Counts SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Statements sent through {@code JdbcTemplate} bypass Hibernate and aren't counted.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package ru.practicum.shareit.request;
 
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
@@ -11,6 +15,10 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Entity
+@NamedEntityGraph(name = ItemRequest.WITH_REQUESTER, attributeNodes = @NamedAttributeNode("requester"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REQUESTS)
+@Where(clause = "deleted = false")
 @Table(name = "requests", schema = "public")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,9 +26,11 @@ import java.util.Collection;
 @Setter
 @ToString
 public class ItemRequest {
+    public static final String WITH_REQUESTER = "ItemRequest.withRequester";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     @Column(name = "request_id")
     private Long id;
 
@@ -28,14 +38,26 @@ public class ItemRequest {
     @Column(nullable = false)
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id", nullable = false)
+    @ToString.Exclude
     private User requester;
 
     @Column(name = "create_time", nullable = false)
     private LocalDateTime created;
 
     @OneToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REQUEST_ITEMS)
     @JoinColumn(name = "request_id")
+    @ToString.Exclude
     private Collection<Item> items;
+
+    @Column(insertable = false, updatable = false)
+    private Long version;
+
+    /**
+     * Set together with the deleted flag of the requester, so queries don't have to look at the users table.
+     */
+    @Column(nullable = false)
+    private Boolean deleted = false;
 }
@@ -1,7 +1,13 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.format.BinaryFormats;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 
@@ -12,10 +18,12 @@ import java.util.List;
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final JsonResponseCache jsonResponseCache;
 
     @Autowired
-    public ItemRequestController(ItemRequestService itemRequestService) {
+    public ItemRequestController(ItemRequestService itemRequestService, JsonResponseCache jsonResponseCache) {
         this.itemRequestService = itemRequestService;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @PostMapping()
@@ -26,22 +34,39 @@ public class ItemRequestController {
 
     @GetMapping
     public List<ItemRequestWithItemsDto> getAllRequestsByRequester(
-            @RequestHeader(value = "X-Sharer-User-Id") long userId) {
-        return itemRequestService.getAllRequestsByRequester(userId);
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam(required = false) String fields) {
+        return itemRequestService.getAllRequestsByRequester(userId,
+                FieldSet.parse(fields, ItemRequestWithItemsDto.FIELDS));
     }
 
     @GetMapping("/all")
     public List<ItemRequestWithItemsDto> getAllRequestsWithPagination(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @RequestParam(required = false) Integer from,
-            @RequestParam(required = false) Integer size) {
-        return itemRequestService.getAllRequestsWithPagination(userId, from, size);
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        return itemRequestService.getAllRequestsWithPagination(userId, from, size,
+                FieldSet.parse(fields, ItemRequestWithItemsDto.FIELDS));
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestWithItemsDto getRequestById(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                  @PathVariable long requestId) {
-        return itemRequestService.getRequestById(userId, requestId);
+    public ResponseEntity<?> getRequestById(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                            @PathVariable long requestId,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        FieldSet fieldSet = FieldSet.parse(fields, ItemRequestWithItemsDto.FIELDS);
+        String eTag = "request-" + requestId + "-" + itemRequestService.getRequestVersion(userId, requestId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (!fieldSet.isAll() || BinaryFormats.isAccepted(request)) {
+            return ResponseEntity.ok(itemRequestService.getRequestById(userId, requestId, fieldSet));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonResponseCache.getOrRender(JsonResponseCache.requestKey(requestId), eTag,
+                        () -> itemRequestService.getRequestById(userId, requestId)));
     }
 
 
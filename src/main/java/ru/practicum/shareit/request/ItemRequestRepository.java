@@ -1,13 +1,56 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.CacheRegions;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @Override
+    @EntityGraph(ItemRequest.WITH_REQUESTER)
+    Optional<ItemRequest> findById(Long id);
+
+    @EntityGraph(ItemRequest.WITH_REQUESTER)
     List<ItemRequest> findAllByRequesterIdOrderByCreatedAsc(long requesterId);
 
+    @EntityGraph(ItemRequest.WITH_REQUESTER)
     List<ItemRequest> findAllByRequesterIdNot(long requesterId, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ItemRequest AS r SET r.deleted = true WHERE r.requester.id = ?1")
+    int markDeletedByRequesterId(long requesterId);
+
+    @Query("SELECT r.version FROM ItemRequest AS r WHERE r.id = ?1")
+    Optional<Long> findVersionById(long id);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE requests SET version = version + 1 WHERE request_id = ?1", nativeQuery = true)
+    int incrementVersion(long id);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE requests SET version = version + 1 WHERE requester_id = ?1", nativeQuery = true)
+    int incrementVersionsByRequesterId(long requesterId);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE requests SET version = version + 1 " +
+            "WHERE request_id IN (SELECT request_id FROM items WHERE owner_id = ?1)", nativeQuery = true)
+    int incrementVersionsByItemOwnerId(long ownerId);
 }
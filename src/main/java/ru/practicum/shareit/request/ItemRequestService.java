@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 
@@ -10,7 +11,19 @@ public interface ItemRequestService {
 
     List<ItemRequestWithItemsDto> getAllRequestsByRequester(long userId);
 
+    /**
+     * The {@code fields} overloads don't load the items of the requests unless {@code items} is selected.
+     */
+    List<ItemRequestWithItemsDto> getAllRequestsByRequester(long userId, FieldSet fields);
+
     List<ItemRequestWithItemsDto> getAllRequestsWithPagination(long userId, Integer from, Integer size);
 
+    List<ItemRequestWithItemsDto> getAllRequestsWithPagination(long userId, Integer from, Integer size,
+                                                               FieldSet fields);
+
     ItemRequestWithItemsDto getRequestById(long userId, long requestId);
+
+    ItemRequestWithItemsDto getRequestById(long userId, long requestId, FieldSet fields);
+
+    long getRequestVersion(long userId, long requestId);
 }
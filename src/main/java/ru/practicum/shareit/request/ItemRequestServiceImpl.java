@@ -6,12 +6,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.RequestNotFoundException;
-import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.routing.ReadFromReplica;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,29 +22,44 @@ import java.util.List;
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     public ItemRequestDto createItemRequest(ItemRequestDto itemRequestDto, Long userId) {
-        checkUserExist(userId);
+        userExistenceChecker.checkUserExist(userId);
         validateRequest(itemRequestDto);
         return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(
                 ItemRequestMapper.toItemRequest(itemRequestDto, userId)));
     }
 
     @Override
+    @ReadFromReplica
     public List<ItemRequestWithItemsDto> getAllRequestsByRequester(long userId) {
-        checkUserExist(userId);
+        return getAllRequestsByRequester(userId, FieldSet.ALL);
+    }
+
+    @Override
+    @ReadFromReplica
+    public List<ItemRequestWithItemsDto> getAllRequestsByRequester(long userId, FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequesterIdOrderByCreatedAsc(userId);
         if (!requests.isEmpty()) {
-            return ItemRequestMapper.toItemsRequestsDto(requests);
+            return ItemRequestMapper.toItemsRequestsDto(requests, fields.includes(ItemRequestWithItemsDto.ITEMS));
         }
         return new ArrayList<>();
     }
 
     @Override
+    @ReadFromReplica
     public List<ItemRequestWithItemsDto> getAllRequestsWithPagination(long userId, Integer from, Integer size) {
-        checkUserExist(userId);
+        return getAllRequestsWithPagination(userId, from, size, FieldSet.ALL);
+    }
+
+    @Override
+    @ReadFromReplica
+    public List<ItemRequestWithItemsDto> getAllRequestsWithPagination(long userId, Integer from, Integer size,
+                                                                      FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
 
         List<ItemRequestWithItemsDto> requests = new ArrayList<>();
         if (from != null && size != null) {
@@ -51,24 +67,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             List<ItemRequest> requestTemp = itemRequestRepository.findAllByRequesterIdNot(
                     userId, PageRequest.of(from / size, size, Sort.by("created").descending()));
             if (!requestTemp.isEmpty()) {
-                requests.addAll(ItemRequestMapper.toItemsRequestsDto(requestTemp));
+                requests.addAll(ItemRequestMapper.toItemsRequestsDto(requestTemp,
+                        fields.includes(ItemRequestWithItemsDto.ITEMS)));
             }
         }
         return requests;
     }
 
     @Override
+    @ReadFromReplica
     public ItemRequestWithItemsDto getRequestById(long userId, long requestId) {
-        checkUserExist(userId);
+        return getRequestById(userId, requestId, FieldSet.ALL);
+    }
+
+    @Override
+    @ReadFromReplica
+    public ItemRequestWithItemsDto getRequestById(long userId, long requestId, FieldSet fields) {
+        userExistenceChecker.checkUserExist(userId);
         return ItemRequestMapper.toItemRequestWithItemsDto(itemRequestRepository.findById(requestId)
-                .orElseThrow(RequestNotFoundException::new));
+                .orElseThrow(RequestNotFoundException::new), fields.includes(ItemRequestWithItemsDto.ITEMS));
     }
 
-    private void checkUserExist(long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
-            log.info("User with id {} not found", userId);
-            throw new UserNotFoundException();
-        }
+    @Override
+    @ReadFromReplica
+    public long getRequestVersion(long userId, long requestId) {
+        userExistenceChecker.checkUserExist(userId);
+        return itemRequestRepository.findVersionById(requestId).orElseThrow(RequestNotFoundException::new);
     }
 
     private void validateRequest(ItemRequestDto itemRequestDto) {
@@ -2,14 +2,12 @@ package ru.practicum.shareit.request.dto;
 
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.request.ItemRequest;
-import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserMapper;
-import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class ItemRequestMapper {
 
@@ -17,7 +15,9 @@ public class ItemRequestMapper {
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setId(itemRequestDto.getId() != null ? itemRequestDto.getId() : null);
         itemRequest.setDescription(itemRequestDto.getDescription());
-        itemRequest.setRequester(UserMapper.toUser(new UserDto(requesterId, null, null)));
+        User requester = new User();
+        requester.setId(requesterId);
+        itemRequest.setRequester(requester);
         itemRequest.setCreated(LocalDateTime.now());
         return itemRequest;
     }
@@ -25,21 +25,34 @@ public class ItemRequestMapper {
     public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
         return itemRequest == null ? null : new ItemRequestDto(itemRequest.getId(),
                 itemRequest.getDescription(),
-                itemRequest.getRequester() == null ? UserMapper.toUserShortDto(itemRequest.getRequester())
-                        : new UserShortDto(itemRequest.getRequester().getId(), itemRequest.getRequester().getName()),
+                UserMapper.toUserShortDto(itemRequest.getRequester()),
                 itemRequest.getCreated());
     }
 
     public static ItemRequestWithItemsDto toItemRequestWithItemsDto(ItemRequest itemRequest) {
+        return toItemRequestWithItemsDto(itemRequest, true);
+    }
+
+    /**
+     * Leaves {@code items} empty when {@code withItems} is false, so the lazy collection isn't loaded.
+     */
+    public static ItemRequestWithItemsDto toItemRequestWithItemsDto(ItemRequest itemRequest, boolean withItems) {
         return itemRequest == null ? null : new ItemRequestWithItemsDto(itemRequest.getId(),
                 itemRequest.getDescription(),
-                itemRequest.getRequester() == null ? UserMapper.toUserShortDto(itemRequest.getRequester())
-                        : new UserShortDto(itemRequest.getRequester().getId(), itemRequest.getRequester().getName()),
+                UserMapper.toUserShortDto(itemRequest.getRequester()),
                 itemRequest.getCreated(),
-                ItemMapper.toItemsDto(new ArrayList<>(itemRequest.getItems())));
+                withItems ? ItemMapper.toItemsDto(itemRequest.getItems()) : null);
     }
 
     public static List<ItemRequestWithItemsDto> toItemsRequestsDto(List<ItemRequest> requests) {
-        return requests.stream().map(ItemRequestMapper::toItemRequestWithItemsDto).collect(Collectors.toList());
+        return toItemsRequestsDto(requests, true);
+    }
+
+    public static List<ItemRequestWithItemsDto> toItemsRequestsDto(List<ItemRequest> requests, boolean withItems) {
+        List<ItemRequestWithItemsDto> result = new ArrayList<>(requests.size());
+        for (ItemRequest request : requests) {
+            result.add(toItemRequestWithItemsDto(request, withItems));
+        }
+        return result;
     }
 }
@@ -1,19 +1,26 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 
 @AllArgsConstructor
 @Getter
 @Setter
+@JsonFilter(FieldSet.FILTER_ID)
 public class ItemRequestWithItemsDto {
+    public static final String ITEMS = "items";
+    public static final Set<String> FIELDS = Set.of("id", "description", "requester", "created", ITEMS);
+
     private Long id;
     private String description;
     private UserShortDto requester;
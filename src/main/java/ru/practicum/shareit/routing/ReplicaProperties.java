@@ -0,0 +1,21 @@
+package ru.practicum.shareit.routing;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReplicaProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    /** How long after a write its session token sends reads to the primary, covers request time and lag. */
+    private long readYourWritesMs = 5_000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Runs outside of any transaction advice, so the connection is chosen after the route is set. Inside a transaction
+ * the method stays on the transaction's connection.
+ * <p>
+ * A replica-routed method gets a session of its own: a session holds its connection until it closes, so sharing
+ * the request's session would send later primary work to the replica too. The session only reads the second-level
+ * cache ({@link CacheStoreMode#BYPASS}); a replica may lag behind, and a row it put into the cache would be served
+ * to primary reads as well.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReplicaRoutingAspect {
+    private static final String CACHE_STORE_MODE = "javax.persistence.cache.storeMode";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaRoutingAspect(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Around("@annotation(ru.practicum.shareit.routing.ReadFromReplica)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (RoutingContext.useReplica() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        boolean previous = RoutingContext.allowReplica(true);
+        try {
+            if (!RoutingContext.useReplica()) {
+                return joinPoint.proceed();
+            }
+            RoutingContext.countReplicaRead();
+            return proceedInReplicaSession(joinPoint);
+        } finally {
+            RoutingContext.allowReplica(previous);
+        }
+    }
+
+    private Object proceedInReplicaSession(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object requestSession = TransactionSynchronizationManager.hasResource(entityManagerFactory)
+                ? TransactionSynchronizationManager.unbindResource(entityManagerFactory)
+                : null;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            if (requestSession != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestSession);
+            }
+        }
+    }
+}
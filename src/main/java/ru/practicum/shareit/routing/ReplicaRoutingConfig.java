@@ -0,0 +1,87 @@
+package ru.practicum.shareit.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas are configured with {@code shareit.datasource.replicas[n].url}, {@code username} and
+ * {@code password}. Without them every query goes to {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replicas[0].url")
+@Slf4j
+public class ReplicaRoutingConfig {
+    private static final String PREFIX = "shareit.datasource";
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        ReplicaProperties properties = bindProperties(environment);
+        return new RoutingPostProcessor(properties);
+    }
+
+    @Bean
+    public ReplicaRoutingAspect replicaRoutingAspect(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaRoutingAspect(entityManagerFactory);
+    }
+
+    @Bean
+    public SessionTokenFilter sessionTokenFilter(Environment environment) {
+        return new SessionTokenFilter(Clock.systemUTC(), bindProperties(environment).getReadYourWritesMs());
+    }
+
+    private static ReplicaProperties bindProperties(Environment environment) {
+        return Binder.get(environment).bind(PREFIX, ReplicaProperties.class).orElseGet(ReplicaProperties::new);
+    }
+
+    /**
+     * Ordered, so it wraps the pool before the other data source post-processors wrap the result.
+     */
+    private static class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+        private final ReplicaProperties properties;
+
+        RoutingPostProcessor(ReplicaProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource) || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            List<DataSource> replicas = new ArrayList<>();
+            for (int i = 0; i < properties.getReplicas().size(); i++) {
+                ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(replica.getUrl())
+                        .username(replica.getUsername())
+                        .password(replica.getPassword())
+                        .build();
+                dataSource.setPoolName("replica-" + i);
+                dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+                replicas.add(dataSource);
+            }
+            log.info("Routing read-only service methods to {} replicas", replicas.size());
+            return new ReplicaRoutingDataSource((DataSource) bean, replicas);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends connections to the primary unless {@link RoutingContext#useReplica()} is set, then spreads them over the
+ * replicas round-robin.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setTargets(UnaryOperator.identity());
+    }
+
+    /**
+     * Routes to wrappers of the pools instead of the pools, for limits that have to apply to each pool on its own.
+     * {@link #getPrimary()}, {@link #getReplicas()} and {@link #close()} keep working with the pools.
+     */
+    public void wrapTargets(UnaryOperator<DataSource> wrapper) {
+        setTargets(wrapper);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !RoutingContext.useReplica()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private void setTargets(UnaryOperator<DataSource> wrapper) {
+        DataSource wrappedPrimary = wrapper.apply(primary);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, wrappedPrimary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, wrapper.apply(replicas.get(i)));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(wrappedPrimary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+        if (primary instanceof Closeable) {
+            ((Closeable) primary).close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.routing;
+
+/**
+ * Per-thread routing decision. A replica is used only inside a {@link ReadFromReplica} method and only when the
+ * current request doesn't have to read its own recent writes.
+ */
+public final class RoutingContext {
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<long[]> REPLICA_READS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private RoutingContext() {
+    }
+
+    public static boolean useReplica() {
+        return REPLICA_ALLOWED.get() && !PRIMARY_REQUIRED.get();
+    }
+
+    /**
+     * Number of methods this thread has run against a replica so far. Callers compare two values to find out whether
+     * something they ran in between may have read lagging data.
+     */
+    public static long replicaReads() {
+        return REPLICA_READS.get()[0];
+    }
+
+    static void countReplicaRead() {
+        REPLICA_READS.get()[0]++;
+    }
+
+    /**
+     * Allows replicas and returns the previous value, which the caller restores with the same method.
+     */
+    static boolean allowReplica(boolean allowed) {
+        boolean previous = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.set(allowed);
+        return previous;
+    }
+
+    static void requirePrimary(boolean required) {
+        PRIMARY_REQUIRED.set(required);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.routing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Set;
+
+/**
+ * Read-your-writes for clients of a replicated database. Every write returns the time it started in
+ * {@value #HEADER}; a read that sends the token back within {@code readYourWritesMillis} is served by the primary.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Session-Token";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Clock clock;
+    private final long readYourWritesMillis;
+
+    public SessionTokenFilter(Clock clock, long readYourWritesMillis) {
+        this.clock = clock;
+        this.readYourWritesMillis = readYourWritesMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        if (!READ_METHODS.contains(request.getMethod())) {
+            response.setHeader(HEADER, String.valueOf(now));
+            chain.doFilter(request, response);
+            return;
+        }
+        RoutingContext.requirePrimary(isRecentWrite(request.getHeader(HEADER), now));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoutingContext.requirePrimary(false);
+        }
+    }
+
+    private boolean isRecentWrite(String token, long now) {
+        if (token == null) {
+            return false;
+        }
+        try {
+            long writtenAt = Long.parseLong(token.trim());
+            // The write may have been served by an instance whose clock is ahead of this one
+            return Math.abs(now - writtenAt) < readYourWritesMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.slowquery;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class SlowQuery {
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private final LocalDateTime executedAt;
+    private final String sql;
+    private final List<String> parameters;
+    private final long elapsedMillis;
+    private final String caller;
+    private volatile String plan;
+}
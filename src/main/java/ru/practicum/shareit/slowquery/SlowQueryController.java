@@ -0,0 +1,22 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(name = "shareit.slow-query.enabled", havingValue = "true")
+@RequestMapping("/admin/slow-queries")
+@RequiredArgsConstructor
+public class SlowQueryController {
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog.getSlowQueries();
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.slowquery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+/**
+ * Wraps the data source so every prepared statement is timed together with its bind parameters.
+ * Statements that cross the threshold go to {@link SlowQueryLog}. Off unless {@code shareit.slow-query.enabled} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.slow-query.enabled", havingValue = "true")
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+    private volatile SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLogProvider) {
+        this.slowQueryLogProvider = slowQueryLogProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return wrap(DataSource.class, bean, new DataSourceHandler((DataSource) bean));
+        }
+        return bean;
+    }
+
+    private SlowQueryLog getSlowQueryLog() {
+        if (slowQueryLog == null) {
+            slowQueryLog = slowQueryLogProvider.getObject();
+        }
+        return slowQueryLog;
+    }
+
+    private static <T> T wrap(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class DataSourceHandler implements InvocationHandler {
+        private final DataSource target;
+
+        DataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+            if ("getConnection".equals(method.getName())) {
+                return wrap(Connection.class, result, new ConnectionHandler((Connection) result));
+            }
+            return result;
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+            if ("prepareStatement".equals(method.getName())) {
+                return wrap(PreparedStatement.class, result,
+                        new StatementHandler((PreparedStatement) result, (String) args[0]));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final PreparedStatement target;
+        private final String sql;
+        private Object[] parameters = new Object[8];
+        private int parameterCount;
+
+        StatementHandler(PreparedStatement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                setParameter((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                long start = System.nanoTime();
+                try {
+                    return SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    SlowQueryLog log = getSlowQueryLog();
+                    if (log.isSlow(elapsed)) {
+                        log.record(sql, Arrays.copyOf(parameters, parameterCount), elapsed);
+                    }
+                }
+            }
+            return SlowQueryDataSourcePostProcessor.invoke(target, method, args);
+        }
+
+        private void setParameter(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
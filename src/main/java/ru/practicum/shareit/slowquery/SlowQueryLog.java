@@ -0,0 +1,142 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the last {@code shareit.slow-query.capacity} statements that ran longer than
+ * {@code shareit.slow-query.threshold-ms}. The plan of a slow {@code SELECT} is captured in the background with
+ * the same parameters, using {@code EXPLAIN ANALYZE} when {@code shareit.slow-query.analyze} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.slow-query.enabled", havingValue = "true")
+@Slf4j
+public class SlowQueryLog {
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+    private final DataSource dataSource;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final boolean analyze;
+    private final Deque<SlowQuery> queries;
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public SlowQueryLog(DataSource dataSource,
+                        @Value("${shareit.slow-query.threshold-ms:200}") long thresholdMillis,
+                        @Value("${shareit.slow-query.capacity:100}") int capacity,
+                        @Value("${shareit.slow-query.analyze:false}") boolean analyze) {
+        this.dataSource = dataSource;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = capacity;
+        this.analyze = analyze;
+        this.queries = new ArrayDeque<>(capacity);
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (queries) {
+            return new ArrayList<>(queries);
+        }
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos && !EXPLAINING.get();
+    }
+
+    void record(String sql, Object[] parameters, long elapsedNanos) {
+        List<Object> values = Arrays.asList(parameters);
+        SlowQuery query = new SlowQuery(LocalDateTime.now(), sql,
+                values.stream().map(SlowQueryLog::toText).collect(Collectors.toList()),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), findCaller());
+        log.warn("Slow query took {} ms in {}: {} {}", query.getElapsedMillis(), query.getCaller(), sql,
+                query.getParameters());
+        synchronized (queries) {
+            if (queries.size() == capacity) {
+                queries.removeFirst();
+            }
+            queries.addLast(query);
+        }
+        if (sql.trim().regionMatches(true, 0, "SELECT", 0, 6)) {
+            try {
+                explainExecutor.execute(() -> explain(query, values));
+            } catch (RejectedExecutionException e) {
+                log.debug("Plan of slow query skipped, explain queue is full");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(SlowQuery query, List<Object> parameters) {
+        EXPLAINING.set(true);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     (analyze ? "EXPLAIN ANALYZE " : "EXPLAIN ") + query.getSql())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            query.setPlan(plan.toString());
+        } catch (SQLException e) {
+            query.setPlan("Plan is unavailable: " + e.getMessage());
+        } finally {
+            EXPLAINING.remove();
+        }
+    }
+
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> {
+            List<StackWalker.StackFrame> ownFrames = frames
+                    .filter(frame -> frame.getClassName().startsWith("ru.practicum.shareit.")
+                            && !frame.getClassName().startsWith("ru.practicum.shareit.slowquery.")
+                            && !frame.getClassName().contains("$$"))
+                    .collect(Collectors.toList());
+            Optional<StackWalker.StackFrame> service = ownFrames.stream()
+                    .filter(frame -> frame.getClassName().endsWith("ServiceImpl"))
+                    .findFirst();
+            return service.or(() -> ownFrames.stream().findFirst())
+                    .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) +
+                            "." + frame.getMethodName())
+                    .orElse("unknown");
+        });
+    }
+
+    private static String toText(Object value) {
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.threads;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most {@code permits} threads hold a connection at once, the rest wait in a fair queue. With virtual
+ * threads there are as many request threads as requests, so without the limit they would all pile up inside the
+ * connection pool.
+ */
+public final class ConnectionLimitingDataSource {
+
+    private ConnectionLimitingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target, int permits, long timeoutMillis) {
+        Semaphore semaphore = new Semaphore(permits, true);
+        return (DataSource) Proxy.newProxyInstance(ConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    if (!"getConnection".equals(method.getName())) {
+                        return invoke(target, method, args);
+                    }
+                    if (!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                        throw new SQLTransientConnectionException("No database permit within " + timeoutMillis +
+                                " ms, " + permits + " connections are in use");
+                    }
+                    try {
+                        return releasingOnClose((Connection) invoke(target, method, args), semaphore);
+                    } catch (Throwable e) {
+                        semaphore.release();
+                        throw e;
+                    }
+                });
+    }
+
+    private static Connection releasingOnClose(Connection connection, Semaphore semaphore) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (!"close".equals(method.getName())) {
+                        return invoke(connection, method, args);
+                    }
+                    try {
+                        return invoke(connection, method, args);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            semaphore.release();
+                        }
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
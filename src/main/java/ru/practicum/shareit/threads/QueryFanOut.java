@@ -0,0 +1,72 @@
+package ru.practicum.shareit.threads;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exception.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs independent queries of one request together and waits for all of them, at most {@code timeoutMillis}.
+ * Without an executor the queries simply run one after another on the calling thread.
+ */
+@Slf4j
+public class QueryFanOut {
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public QueryFanOut(ExecutorService executor, long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static QueryFanOut sequential() {
+        return new QueryFanOut(null, 0);
+    }
+
+    /**
+     * Runs the queries and rethrows the first failure. Queries still running at the deadline are cancelled and
+     * {@link QueryTimeoutException} is thrown.
+     */
+    public void runAll(List<Runnable> queries) {
+        if (executor == null || queries.size() < 2) {
+            queries.forEach(Runnable::run);
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(queries.size());
+        for (Runnable query : queries) {
+            tasks.add(() -> {
+                query.run();
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                future.get();
+            }
+        } catch (CancellationException e) {
+            log.warn("Queries didn't finish in {} ms", timeoutMillis);
+            throw new QueryTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel query fan-out is opt-in, enabled by {@code shareit.query-fan-out.enabled}. Worker threads don't share
+ * the caller's transaction, so only reads that don't need to see uncommitted changes may be fanned out.
+ */
+@Configuration
+@Slf4j
+public class QueryFanOutConfig {
+    static final String EXECUTOR_NAME = "shareit.query.fan-out";
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.query-fan-out.enabled", havingValue = "true")
+    public QueryFanOut parallelQueryFanOut(MeterRegistry meterRegistry,
+                                           @Value("${shareit.query-fan-out.pool-size:4}") int poolSize,
+                                           @Value("${shareit.query-fan-out.queue-capacity:100}") int queueCapacity,
+                                           @Value("${shareit.query-fan-out.timeout-ms:2000}") long timeoutMillis) {
+        log.info("Fanning out queries to {} threads", poolSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("query-fan-out-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME, Tags.empty());
+        return new QueryFanOut(monitored, timeoutMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.query-fan-out.enabled", havingValue = "false", matchIfMissing = true)
+    public QueryFanOut sequentialQueryFanOut() {
+        return QueryFanOut.sequential();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.practicum.shareit.routing.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Opt-in mode, enabled by {@code shareit.virtual-threads.enabled}: Tomcat serves every request on its own virtual
+ * thread, and database access is limited to the size of the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        long timeoutMillis = environment.getProperty("shareit.virtual-threads.db-permit-timeout-ms", Long.class,
+                30_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource)) {
+                    return bean;
+                }
+                ReplicaRoutingDataSource routing = findRoutingDataSource((DataSource) bean);
+                if (routing != null) {
+                    routing.wrapTargets(target -> limit(target, environment, timeoutMillis));
+                    return bean;
+                }
+                return limit((DataSource) bean, environment, timeoutMillis);
+            }
+        };
+    }
+
+    private static DataSource limit(DataSource dataSource, Environment environment, long timeoutMillis) {
+        int permits = getPoolSize(dataSource, environment);
+        log.info("Limiting database access to {} concurrent connections", permits);
+        return ConnectionLimitingDataSource.wrap(dataSource, permits, timeoutMillis);
+    }
+
+    /**
+     * With replicas every pool gets its own permits, otherwise the replicas would share the primary's.
+     */
+    private static ReplicaRoutingDataSource findRoutingDataSource(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("Routing data source is unavailable", e);
+        }
+        return null;
+    }
+
+    private static int getPoolSize(DataSource dataSource, Environment environment) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)
+                    && dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() > 0) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Pool size is unavailable, falling back to properties", e);
+        }
+        return environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+    }
+}
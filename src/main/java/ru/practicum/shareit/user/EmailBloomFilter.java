@@ -0,0 +1,131 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of normalized user emails. A negative answer means the email is definitely free,
+ * a positive one has to be confirmed by a database lookup. Emails of deleted users stay in the filter.
+ * <p>
+ * The filter is sized at warm-up for twice the current number of users. Once more emails than that were put,
+ * it is rebuilt from the database with a new size; emails put meanwhile go into both filters.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailBloomFilter {
+    private static final long MIN_EXPECTED_EMAILS = 100_000;
+    private static final int HEADROOM = 2;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAX_BIT_COUNT = Integer.MAX_VALUE - Long.SIZE;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final UserRepository userRepository;
+    private volatile Filter filter = new Filter(MIN_EXPECTED_EMAILS);
+    private volatile Filter rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Filter rebuilt = new Filter(Math.max(MIN_EXPECTED_EMAILS, userRepository.count() * HEADROOM));
+        rebuilding = rebuilt;
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> rebuilt.put(hash(email)));
+            filter = rebuilt;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Email filter rebuilt for {} emails", rebuilt.capacity);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.email-filter.check-ms:60000}",
+            fixedDelayString = "${shareit.email-filter.check-ms:60000}")
+    @Transactional(readOnly = true)
+    public void rebuildIfFull() {
+        if (filter.isFull()) {
+            log.info("Email filter passed its capacity of {} emails", filter.capacity);
+            rebuild();
+        }
+    }
+
+    /**
+     * Reads the filter being rebuilt first: once that is gone, the rebuilt filter is already the current one.
+     */
+    public void put(String email) {
+        long hash = hash(email);
+        Filter rebuilt = rebuilding;
+        if (rebuilt != null) {
+            rebuilt.put(hash);
+        }
+        filter.put(hash);
+    }
+
+    public boolean mightContain(String email) {
+        return filter.mightContain(hash(email));
+    }
+
+    private static long hash(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static class Filter {
+        private final long capacity;
+        private final int bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong size = new AtomicLong();
+
+        Filter(long capacity) {
+            this.capacity = capacity;
+            bitCount = (int) Math.min(MAX_BIT_COUNT,
+                    (long) Math.ceil(-capacity * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2))));
+            hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        void put(long hash) {
+            int firstHash = (int) hash;
+            int secondHash = (int) (hash >>> Integer.SIZE);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(firstHash + i * secondHash, bitCount);
+                long mask = 1L << bit;
+                int word = bit / Long.SIZE;
+                bits.getAndAccumulate(word, mask, (current, update) -> current | update);
+            }
+            size.incrementAndGet();
+        }
+
+        boolean mightContain(long hash) {
+            int firstHash = (int) hash;
+            int secondHash = (int) (hash >>> Integer.SIZE);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = Math.floorMod(firstHash + i * secondHash, bitCount);
+                if ((bits.get(bit / Long.SIZE) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFull() {
+            return size.get() > capacity;
+        }
+    }
+}
@@ -3,18 +3,27 @@ package ru.practicum.shareit.user;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
+import ru.practicum.shareit.cache.CacheRegions;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
+import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
+@Where(clause = "deleted = false")
 @Table(name = "users", schema = "public")
 @Getter
 @Setter
 @ToString
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
@@ -24,4 +33,15 @@ public class User {
     @Email
     @Column(nullable = false)
     private String email;
-}
\ No newline at end of file
+
+    @Column(nullable = false)
+    private Boolean deleted = false;
+
+    /**
+     * Lets other instances pick up deletes incrementally, see {@link UserExistenceChecker#refresh()}.
+     */
+    private LocalDateTime deletedAt;
+
+    @Column(insertable = false, updatable = false)
+    private Long version;
+}
@@ -1,20 +1,53 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.format.BinaryFormats;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping(path = "/users")
 public class UserController {
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .readerFor(UserDto.class)
+            .with(CsvSchema.builder().addColumn("name").addColumn("email").build());
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final JsonResponseCache jsonResponseCache;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper, JsonResponseCache jsonResponseCache) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @PostMapping()
@@ -22,23 +55,121 @@ public class UserController {
         return userService.createUser(userDto);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public UserImportResultDto importUsersFromJson(InputStream body) throws IOException {
+        MappingIterator<UserDto> users;
+        try {
+            users = objectMapper.readerFor(UserDto.class).readValues(body);
+        } catch (JsonProcessingException e) {
+            return new UserImportResultDto(0, 0, new ArrayList<>(List.of("Line 1: Import stopped, " +
+                    e.getOriginalMessage())));
+        }
+        try (users) {
+            return userService.importUsers(users);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = CSV_MEDIA_TYPE)
+    public UserImportResultDto importUsersFromCsv(InputStream body) throws IOException {
+        try (MappingIterator<UserDto> users = CSV_READER.readValues(body)) {
+            return userService.importUsers(skipCsvHeader(users));
+        }
+    }
+
     @PatchMapping("/{id}")
     public UserDto updateUser(@RequestBody UserDto userDto, @PathVariable(value = "id") long userId) {
         return userService.updateUser(userDto, userId);
     }
 
     @GetMapping()
-    public List<UserDto> getUsers() {
+    public List<UserDto> getUsers(@RequestParam(required = false) Integer from,
+                                  @RequestParam(required = false) Integer size,
+                                  @RequestParam(required = false) Long afterId) {
+        if (afterId != null) {
+            return userService.getUsersAfterId(afterId, size);
+        }
+        if (from != null || size != null) {
+            return userService.getAllUsers(from, size);
+        }
         return userService.getAllUsers();
     }
 
+    @GetMapping(params = "ids")
+    public List<MultiGetEntry<UserDto>> findUsersByIds(@RequestParam List<Long> ids) {
+        return userService.findUsersByIds(ids);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamUsers() {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userService.streamAllUsers(user -> writeUser(generator, user));
+                generator.writeEndArray();
+            }
+        };
+    }
+
     @GetMapping("/{id}")
-    public UserDto findUserById(@PathVariable(value = "id") long userId) {
-        return userService.findUserById(userId);
+    public ResponseEntity<?> findUserById(@PathVariable(value = "id") long userId, WebRequest request) {
+        String eTag = "user-" + userId + "-" + userService.getUserVersion(userId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (BinaryFormats.isAccepted(request)) {
+            return ResponseEntity.ok(userService.findUserById(userId));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonResponseCache.getOrRender(JsonResponseCache.userKey(userId), eTag,
+                        () -> userService.findUserById(userId)));
     }
 
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable(value = "id") long userId) {
         userService.deleteUser(userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Drops the first row when it is the optional {@code name,email} header. Rows are read lazily, so a broken first
+     * row still reaches the import and is reported there.
+     */
+    private static Iterator<UserDto> skipCsvHeader(Iterator<UserDto> users) {
+        return new Iterator<>() {
+            private boolean started;
+            private UserDto first;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    UserDto user = users.hasNext() ? users.next() : null;
+                    first = user == null || isCsvHeader(user) ? null : user;
+                }
+                return first != null || users.hasNext();
+            }
+
+            @Override
+            public UserDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                UserDto user = first == null ? users.next() : first;
+                first = null;
+                return user;
+            }
+        };
+    }
+
+    private static boolean isCsvHeader(UserDto user) {
+        return "name".equalsIgnoreCase(user.getName()) && "email".equalsIgnoreCase(user.getEmail());
+    }
+
+    private void writeUser(JsonGenerator generator, UserDto user) {
+        try {
+            generator.writeObject(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
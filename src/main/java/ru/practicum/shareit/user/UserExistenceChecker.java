@@ -0,0 +1,182 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps ids of existing users in memory, so services don't load a whole user row just to check that it exists.
+ * A miss falls back to an {@code existsById} query. Ids are added only after the surrounding transaction commits.
+ * Ids of users deleted here are tombstoned, so a reader that saw the user just before the delete can't add it back;
+ * deletes made by other instances are picked up by a periodic resync with the database.
+ * <p>
+ * Ids are bits of a {@link BitSet}, one bit per id up to the largest one. Ids that don't fit an {@code int} are
+ * never cached and always fall back to the query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserExistenceChecker {
+    /**
+     * How far each resync looks back past the previous one. Covers deletes committed after the time they recorded
+     * and clock differences between instances.
+     */
+    private static final Duration RESYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet knownUserIds = new BitSet();
+    private final BitSet deletedUserIds = new BitSet();
+    private volatile LocalDateTime resyncedAt = LocalDateTime.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Long> userIds = userRepository.findAllIds();
+        int known;
+        lock.writeLock().lock();
+        try {
+            userIds.forEach(this::addKnownUser);
+            known = knownUserIds.cardinality();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("User existence cache warmed up with {} ids", known);
+    }
+
+    /**
+     * Drops ids of users deleted since the previous resync, as found by their {@code deleted_at}. Users are only
+     * purged well after that (see {@code shareit.purge.user-retention-ms}), so their rows are still there to be
+     * found. Tombstones older than the query aren't needed after that.
+     */
+    @Scheduled(initialDelayString = "${shareit.user-existence.refresh-ms:60000}",
+            fixedDelayString = "${shareit.user-existence.refresh-ms:60000}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        BitSet tombstones;
+        lock.readLock().lock();
+        try {
+            tombstones = (BitSet) deletedUserIds.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> deletedIds = userRepository.findIdsDeletedSince(resyncedAt.minus(RESYNC_OVERLAP));
+        lock.writeLock().lock();
+        try {
+            for (Long userId : deletedIds) {
+                if (isCacheable(userId)) {
+                    knownUserIds.clear(userId.intValue());
+                }
+            }
+            deletedUserIds.andNot(tombstones);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        resyncedAt = startedAt;
+    }
+
+    public void checkUserExist(long userId) {
+        if (!isUserExist(userId)) {
+            log.info("Incorrect user id {}", userId);
+            throw new UserNotFoundException();
+        }
+    }
+
+    public boolean isUserExist(long userId) {
+        if (isKnownUser(userId)) {
+            return true;
+        }
+        if (userRepository.existsById(userId)) {
+            registerUser(userId);
+            return true;
+        }
+        return false;
+    }
+
+    public void registerUser(long userId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                addKnownUser(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * The tombstone is set before the delete commits. If the delete rolls back, the user only falls back to queries.
+     */
+    public void unregisterUser(long userId) {
+        if (!isCacheable(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            deletedUserIds.set((int) userId);
+            knownUserIds.clear((int) userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterCommit(() -> forgetUser((int) userId));
+    }
+
+    private boolean isKnownUser(long userId) {
+        if (!isCacheable(userId)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return knownUserIds.get((int) userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void forgetUser(int userId) {
+        lock.writeLock().lock();
+        try {
+            knownUserIds.clear(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Must hold the write lock. A tombstoned id stays unknown until the resync drops the tombstone.
+     */
+    private void addKnownUser(long userId) {
+        if (isCacheable(userId) && !deletedUserIds.get((int) userId)) {
+            knownUserIds.set((int) userId);
+        }
+    }
+
+    private static boolean isCacheable(long userId) {
+        return userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,67 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.CacheRegions;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-}
\ No newline at end of file
+    @Query("SELECT u.id FROM User AS u")
+    List<Long> findAllIds();
+
+    List<User> findAllByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u FROM User AS u ORDER BY u.id")
+    Stream<User> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.email FROM User AS u")
+    Stream<String> streamAllEmails();
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE email = ?1", nativeQuery = true)
+    boolean existsByEmail(String email);
+
+    /**
+     * Runs in its own transaction, so it still works after a failed flush has aborted the caller's one.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE email = ?1", nativeQuery = true)
+    boolean existsByEmailInNewTransaction(String email);
+
+    @Query(value = "SELECT email FROM users WHERE email IN ?1", nativeQuery = true)
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE User AS u SET u.deleted = true, u.deletedAt = ?2 WHERE u.id = ?1")
+    int markDeleted(long id, LocalDateTime deletedAt);
+
+    @Query(value = "SELECT user_id FROM users WHERE deleted = true AND deleted_at >= ?1", nativeQuery = true)
+    List<Long> findIdsDeletedSince(LocalDateTime since);
+
+    @Query("SELECT u.version FROM User AS u WHERE u.id = ?1")
+    Optional<Long> findVersionById(long id);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = CacheRegions.VERSIONS_SPACE))
+    @Query(value = "UPDATE users SET version = version + 1 WHERE user_id = ?1", nativeQuery = true)
+    int incrementVersion(long id);
+}
@@ -1,17 +1,36 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto createUser(UserDto userDto);
 
+    UserImportResultDto importUsers(Iterator<UserDto> users);
+
     UserDto updateUser(UserDto userDto, long userId);
 
     List<UserDto> getAllUsers();
 
+    List<UserDto> getAllUsers(Integer from, Integer size);
+
+    List<UserDto> getUsersAfterId(long afterId, Integer size);
+
+    void streamAllUsers(Consumer<UserDto> consumer);
+
     UserDto findUserById(long id);
 
+    /**
+     * Reads the users with one query and reports a missing user in its entry.
+     */
+    List<MultiGetEntry<UserDto>> findUsersByIds(List<Long> ids);
+
+    long getUserVersion(long id);
+
     void deleteUser(long id);
 }
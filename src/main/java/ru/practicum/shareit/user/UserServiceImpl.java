@@ -1,48 +1,224 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.multiget.MultiGetEntry;
+import ru.practicum.shareit.multiget.MultiGetIds;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.routing.ReadFromReplica;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
+    private static final int DEFAULT_FROM = 0;
+    private static final int DEFAULT_SIZE = 10;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    private static final int MAX_IMPORT_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_EMAIL_LENGTH = 255;
+
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final UserExistenceChecker userExistenceChecker;
+    private final EmailBloomFilter emailBloomFilter;
+    private final EntityManager entityManager;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final JsonResponseCache jsonResponseCache;
 
     @Override
     public UserDto createUser(UserDto userDto) {
         validateUser(userDto);
-        return UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
+        checkEmailIsFree(userDto.getEmail());
+        User user = saveUser(UserMapper.toUser(userDto));
+        userExistenceChecker.registerUser(user.getId());
+        return UserMapper.toUserDto(user);
+
+    }
 
+    @Override
+    public UserImportResultDto importUsers(Iterator<UserDto> users) {
+        UserImportResultDto result = new UserImportResultDto(0, 0, new ArrayList<>());
+        Map<String, ImportRow> chunk = new LinkedHashMap<>();
+        int line = 0;
+        while (true) {
+            UserDto userDto;
+            line++;
+            try {
+                if (!users.hasNext()) {
+                    break;
+                }
+                userDto = users.next();
+            } catch (RuntimeJsonMappingException e) {
+                rejectImport(result, "Line " + line + ": " + describeImportFailure(e));
+                continue;
+            } catch (RuntimeException e) {
+                log.warn("User import stopped at line {}", line, e);
+                result.getErrors().add("Line " + line + ": Import stopped, " + describeImportFailure(e));
+                break;
+            }
+            String error = findImportError(userDto);
+            if (error == null && chunk.containsKey(userDto.getEmail())) {
+                error = "Duplicate email " + userDto.getEmail();
+            }
+            if (error != null) {
+                rejectImport(result, "Line " + line + ": " + error);
+                continue;
+            }
+            chunk.put(userDto.getEmail(), new ImportRow(line, UserMapper.toUser(userDto)));
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        log.info("Imported {} users, rejected {}", result.getImported(), result.getRejected());
+        return result;
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(UserDto userDto, long userId) {
-        return UserMapper.toUserDto(userRepository.save(UserMapper.toUpdateUser(
-                userRepository.findById(userId).orElseThrow(UserNotFoundException::new), UserMapper.toUser(userDto))));
+        User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        if (userDto.getEmail() != null && !userDto.getEmail().equals(user.getEmail())) {
+            checkEmailIsFree(userDto.getEmail());
+        }
+        String oldName = user.getName();
+        UserDto updatedUser = UserMapper.toUserDto(saveUser(UserMapper.toUpdateUser(user,
+                UserMapper.toUser(userDto))));
+        userRepository.incrementVersion(userId);
+        jsonResponseCache.evict(JsonResponseCache.userKey(userId));
+        if (!Objects.equals(oldName, updatedUser.getName())) {
+            itemRepository.incrementVersionsByCommentAuthorId(userId);
+            itemRequestRepository.incrementVersionsByRequesterId(userId);
+        }
+        return updatedUser;
 
     }
 
     @Override
+    @ReadFromReplica
     public List<UserDto> getAllUsers() {
         return UserMapper.toUsersDto(userRepository.findAll());
     }
 
     @Override
+    @ReadFromReplica
+    public List<UserDto> getAllUsers(Integer from, Integer size) {
+        from = from == null ? DEFAULT_FROM : from;
+        size = size == null ? DEFAULT_SIZE : size;
+        checkPaginationParametersAreCorrect(from, size);
+        return UserMapper.toUsersDto(userRepository.findAll(
+                PageRequest.of(from / size, size, Sort.by("id"))).getContent());
+    }
+
+    @Override
+    @ReadFromReplica
+    public List<UserDto> getUsersAfterId(long afterId, Integer size) {
+        size = size == null ? DEFAULT_SIZE : size;
+        checkPaginationParametersAreCorrect(DEFAULT_FROM, size);
+        return UserMapper.toUsersDto(userRepository.findAllByIdGreaterThanOrderByIdAsc(
+                afterId, PageRequest.of(0, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(UserMapper.toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Override
+    @ReadFromReplica
     public UserDto findUserById(long id) {
         return UserMapper.toUserDto(userRepository.findById(id).orElseThrow(UserNotFoundException::new));
     }
 
     @Override
+    @ReadFromReplica
+    public List<MultiGetEntry<UserDto>> findUsersByIds(List<Long> ids) {
+        List<Long> userIds = MultiGetIds.distinct(ids);
+        Map<Long, User> users = new HashMap<>((int) (userIds.size() / 0.75f) + 1);
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        List<MultiGetEntry<UserDto>> result = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            User user = users.get(userId);
+            result.add(user == null
+                    ? MultiGetEntry.failed(userId, new UserNotFoundException())
+                    : MultiGetEntry.found(userId, UserMapper.toUserDto(user)));
+        }
+        return result;
+    }
+
+    @Override
+    @ReadFromReplica
+    public long getUserVersion(long id) {
+        return userRepository.findVersionById(id).orElseThrow(UserNotFoundException::new);
+    }
+
+    @Override
+    @Transactional
     public void deleteUser(long id) {
-        userRepository.deleteById(id);
+        if (userRepository.markDeleted(id, LocalDateTime.now()) == 0) {
+            log.info("Incorrect user id {}", id);
+            throw new UserNotFoundException();
+        }
+        bookingRepository.markDeletedByUserId(id);
+        itemRequestRepository.markDeletedByRequesterId(id);
+        commentRepository.markDeletedByUserId(id);
+        itemRepository.markDeletedByOwnerId(id);
+        itemRepository.incrementVersionsByCommentAuthorId(id);
+        itemRepository.incrementVersionsByBookerId(id);
+        itemRequestRepository.incrementVersionsByItemOwnerId(id);
+        entityCacheEvictor.evictRequests();
+        jsonResponseCache.evict(JsonResponseCache.userKey(id));
+        userExistenceChecker.unregisterUser(id);
     }
 
     private void validateUser(UserDto user) {
@@ -53,4 +229,124 @@ public class UserServiceImpl implements UserService {
             throw new ValidationException("Incorrect name");
         }
     }
+
+    private void checkEmailIsFree(String email) {
+        if (emailBloomFilter.mightContain(email) && userRepository.existsByEmail(email)) {
+            log.info("Email {} is already in use", email);
+            throw new EmailAlreadyExistsException();
+        }
+    }
+
+    private User saveUser(User user) {
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            emailBloomFilter.put(savedUser.getEmail());
+            return savedUser;
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmailInNewTransaction(user.getEmail())) {
+                log.info("Email {} is already in use", user.getEmail());
+                throw new EmailAlreadyExistsException();
+            }
+            throw e;
+        }
+    }
+
+    private String findImportError(UserDto user) {
+        if (user == null) {
+            return "Incorrect user";
+        }
+        try {
+            validateUser(user);
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+        if (user.getName().length() > MAX_NAME_LENGTH) {
+            return "Incorrect name";
+        }
+        if (user.getEmail().length() > MAX_EMAIL_LENGTH) {
+            return "Incorrect email";
+        }
+        return null;
+    }
+
+    private void importChunk(Map<String, ImportRow> chunk, UserImportResultDto result) {
+        List<String> possiblyExistingEmails = chunk.keySet().stream()
+                .filter(emailBloomFilter::mightContain)
+                .collect(Collectors.toList());
+        Set<String> existingEmails = possiblyExistingEmails.isEmpty() ? Set.of()
+                : userRepository.findExistingEmails(possiblyExistingEmails);
+        List<ImportRow> newRows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk.values()) {
+            if (existingEmails.contains(row.getUser().getEmail())) {
+                rejectImport(result, row.emailTakenError());
+            } else {
+                newRows.add(row);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = userBatchRepository.insertAll(newRows.stream()
+                    .map(ImportRow::getUser)
+                    .collect(Collectors.toList()));
+            result.setImported(result.getImported() + ids.size());
+            newRows.forEach(row -> emailBloomFilter.put(row.getUser().getEmail()));
+            ids.forEach(userExistenceChecker::registerUser);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Email taken while importing a chunk of {} users, inserting them one by one", newRows.size());
+            importRows(newRows, result);
+        }
+    }
+
+    /**
+     * Used when the batch of a chunk was rolled back: an email was taken by a concurrent create or import after the
+     * chunk was checked. Only the rows whose email is taken are rejected.
+     */
+    private void importRows(List<ImportRow> rows, UserImportResultDto result) {
+        for (ImportRow row : rows) {
+            try {
+                long id = userBatchRepository.insert(row.getUser());
+                result.setImported(result.getImported() + 1);
+                emailBloomFilter.put(row.getUser().getEmail());
+                userExistenceChecker.registerUser(id);
+            } catch (DataIntegrityViolationException e) {
+                rejectImport(result, row.emailTakenError());
+            }
+        }
+    }
+
+    private static String describeImportFailure(RuntimeException e) {
+        Throwable cause = e.getCause() == null ? e : e.getCause();
+        return cause instanceof JsonProcessingException ? ((JsonProcessingException) cause).getOriginalMessage()
+                : String.valueOf(cause.getMessage());
+    }
+
+    private void rejectImport(UserImportResultDto result, String error) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_IMPORT_ERRORS) {
+            result.getErrors().add(error);
+        }
+    }
+
+    private void checkPaginationParametersAreCorrect(Integer from, Integer size) {
+        if (from < 0) {
+            log.info("Parameter \"from\" have to be above or equals zero");
+            throw new ValidationException("Incorrect parameter \"from\"");
+        }
+        if (size <= 0) {
+            log.info("Parameter \"size\" have to be above zero");
+            throw new ValidationException("Incorrect parameter \"size\"");
+        }
+    }
+
+    @Value
+    private static class ImportRow {
+        int line;
+        User user;
+
+        String emailTakenError() {
+            return "Line " + line + ": Email " + user.getEmail() + " already exists";
+        }
+    }
 }
@@ -4,8 +4,8 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.user.User;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -34,6 +34,10 @@ public class UserMapper {
     }
 
     public static List<UserDto> toUsersDto(List<User> users) {
-        return users.stream().map(UserMapper::toUserDto).collect(Collectors.toList());
+        List<UserDto> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(toUserDto(user));
+        }
+        return result;
     }
 }
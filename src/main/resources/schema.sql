@@ -3,51 +3,80 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
 
 
 CREATE TABLE users
 (
-    user_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
     name     VARCHAR(50)  NOT NULL,
-    email    VARCHAR(255) NOT NULL UNIQUE
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    deleted  BOOLEAN DEFAULT FALSE NOT NULL,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE,
+    version  BIGINT DEFAULT 0 NOT NULL
 );
 
+CREATE INDEX users_deleted_idx ON users (deleted);
+CREATE INDEX users_deleted_at_idx ON users (deleted_at);
+
 CREATE TABLE requests
 (
-    request_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    request_id  BIGINT DEFAULT nextval('requests_seq') PRIMARY KEY,
     description VARCHAR(500) NOT NULL,
     requester_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE,
-    create_time TIMESTAMP WITHOUT TIME ZONE NOT NULL
+    create_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
+CREATE INDEX requests_deleted_idx ON requests (deleted);
+
 CREATE TABLE items
 (
-    item_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id  BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
     name VARCHAR(20) NOT NULL,
     description VARCHAR(500),
     available BOOLEAN NOT NULL,
     owner_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE,
-    request_id BIGINT REFERENCES requests (request_id) ON DELETE CASCADE
+    request_id BIGINT REFERENCES requests (request_id) ON DELETE SET NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
+CREATE INDEX items_deleted_idx ON items (deleted);
+
 CREATE TABLE bookings
 (
-    booking_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id  BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT REFERENCES items (item_id) ON DELETE CASCADE,
     booker_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE,
-    status varchar(20) CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED','CANCELED'))
-
+    status varchar(20) CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED','CANCELED')),
+    deleted BOOLEAN DEFAULT FALSE NOT NULL
 );
 
+CREATE INDEX bookings_deleted_idx ON bookings (deleted);
+
 CREATE TABLE comments
 (
-    comment_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    comment_id  BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
     text VARCHAR(1500) NOT NULL,
     item_id BIGINT REFERENCES items (item_id) ON DELETE CASCADE,
     author_id BIGINT REFERENCES users (user_id) ON DELETE CASCADE,
-    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL
 );
 
+CREATE INDEX comments_deleted_idx ON comments (deleted);
+
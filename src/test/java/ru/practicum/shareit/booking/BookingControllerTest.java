@@ -1,16 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.IncorrectUserIdException;
+import ru.practicum.shareit.fields.SparseFieldsConfig;
+import ru.practicum.shareit.format.BinaryFormatConfig;
 import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.nio.charset.StandardCharsets;
@@ -19,15 +28,21 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
+@Import({BinaryFormatConfig.class, SparseFieldsConfig.class})
 public class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingReactiveService bookingReactiveService;
 
     @Autowired
     private MockMvc mvc;
@@ -35,6 +50,9 @@ public class BookingControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
     private final BookingShortDto booking = new BookingShortDto(null, LocalDateTime.now().plusDays(1),
             LocalDateTime.now().plusDays(5), null, null, BookingStatus.WAITING);
     private final BookingShortDto savedBooking = new BookingShortDto(1L, LocalDateTime.now().plusDays(1),
@@ -175,4 +193,115 @@ public class BookingControllerTest {
                 .approveOrRejectBooking(1L, 1L, true);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void test6_streamBookingsByOwner() throws Exception {
+        Mockito
+                .when(bookingReactiveService.findBookingsByOwner(1L, "FUTURE", 0, 10))
+                .thenReturn(Flux.just(savedBookingDto, savedBookingDto));
+
+        MvcResult result = mvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "FUTURE")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length, "Incorrect number of streamed bookings");
+        assertEquals(savedBookingDto.getId(), mapper.readValue(lines[0], BookingDto.class).getId(), "Incorrect id");
+    }
+
+    @Test
+    void test7_streamBookingsByBookerAsJsonArray() throws Exception {
+        Mockito
+                .when(bookingReactiveService.findBookingsByBooker(1L, "ALL", 0, 10))
+                .thenReturn(Flux.just(savedBookingDto));
+
+        MvcResult result = mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].item.name", is(savedBookingDto.getItem().getName())));
+    }
+
+    @Test
+    void test8_findBookingsByOwnerAsCbor() throws Exception {
+        Mockito
+                .when(bookingService.findBookingsByOwner(1L, "ALL", 0, 10))
+                .thenReturn(List.of(savedBookingDto));
+
+        MvcResult result = mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        List<BookingDto> received = cborConverter.getObjectMapper().readValue(
+                result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+                });
+        assertEquals(List.of(savedBookingDto), received, "Incorrect bookings");
+    }
+
+    @Test
+    void test9_findBookingsByOwnerAsJsonByDefault() throws Exception {
+        Mockito
+                .when(bookingService.findBookingsByOwner(1L, "ALL", 0, 10))
+                .thenReturn(List.of(savedBookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+
+    @Test
+    void test10_findBookingsByOwnerWithFields() throws Exception {
+        Mockito
+                .when(bookingService.findBookingsByOwner(1L, "ALL", 0, 10))
+                .thenReturn(List.of(savedBookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "id, status")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].status", is(savedBookingDto.getStatus().toString())))
+                .andExpect(jsonPath("$[0].item").doesNotExist())
+                .andExpect(jsonPath("$[0].start").doesNotExist());
+    }
+
+    @Test
+    void test11_findBookingsByIds() throws Exception {
+        Mockito
+                .when(bookingService.findBookingsByIds(List.of(1L, 2L), 2L))
+                .thenReturn(List.of(MultiGetEntry.found(1L, savedBookingDto),
+                        MultiGetEntry.failed(2L, new IncorrectUserIdException())));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("ids", "1", "2")
+                        .param("fields", "id,status")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].value.id", is(1)))
+                .andExpect(jsonPath("$[0].value.status", is(savedBookingDto.getStatus().toString())))
+                .andExpect(jsonPath("$[0].value.item").doesNotExist())
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Access error")));
+
+        Mockito.verify(bookingService, Mockito.never()).findBookingsByBooker(2L, "ALL", 0, 10);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.IncorrectStatusException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.deleteAll;
+import static ru.practicum.shareit.testdata.TestData.makeBooking;
+import static ru.practicum.shareit.testdata.TestData.makeItem;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+/**
+ * R2DBC connections can't see uncommitted JPA changes, so this test commits its data and removes it afterwards.
+ */
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingReactiveServiceImplIntTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final BookingReactiveService bookingReactiveService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(makeUser("reactive-owner@mail.ru"));
+        booker = userRepository.save(makeUser("reactive-booker@mail.ru"));
+        Item item = itemRepository.save(makeItem(owner.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(makeBooking(booker, item, now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED));
+        bookingRepository.save(makeBooking(booker, item, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED));
+        bookingRepository.save(makeBooking(booker, item, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING));
+        bookingRepository.save(makeBooking(booker, item, now.plusDays(4), now.plusDays(5), BookingStatus.REJECTED));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll(jdbcTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    void test1_findSameBookingsAsJpaPath(String state) {
+        assertEquals(bookingService.findBookingsByOwner(owner.getId(), state, 0, 10),
+                bookingReactiveService.findBookingsByOwner(owner.getId(), state, 0, 10).collectList().block(),
+                "Incorrect owner bookings");
+        assertEquals(bookingService.findBookingsByBooker(booker.getId(), state, 0, 10),
+                bookingReactiveService.findBookingsByBooker(booker.getId(), state, 0, 10).collectList().block(),
+                "Incorrect booker bookings");
+    }
+
+    @Test
+    void test2_findBookingsPage() {
+        List<BookingDto> bookings = bookingReactiveService.findBookingsByOwner(owner.getId(), "ALL", 2, 2)
+                .collectList().block();
+
+        assertEquals(bookingService.findBookingsByOwner(owner.getId(), "ALL", 2, 2), bookings, "Incorrect page");
+        assertEquals(2, bookings.size(), "Incorrect size");
+    }
+
+    @Test
+    void test3_findBookingsOfUnknownUser() {
+        assertThrows(UserNotFoundException.class,
+                () -> bookingReactiveService.findBookingsByOwner(-1L, "ALL", 0, 10).blockFirst(),
+                "Incorrect exception");
+    }
+
+    @Test
+    void test4_findBookingsWithUnknownState() {
+        assertThrows(IncorrectStatusException.class,
+                () -> bookingReactiveService.findBookingsByBooker(booker.getId(), "UNKNOWN", 0, 10),
+                "Incorrect exception");
+    }
+}
@@ -14,12 +14,17 @@ import ru.practicum.shareit.exception.IncorrectStatusException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.multiget.MultiGetEntry;
+import ru.practicum.shareit.multiget.MultiGetIds;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -335,6 +340,38 @@ public class BookingServiceImplIntTest {
                 owner.getId(), "ALL", from, size), "Incorrect exception");
     }
 
+    @Test
+    void test16_findBookingsByIds() {
+        User owner = userRepository.save(makeUser(null, "test", "test@mail.ru"));
+        User booker = userRepository.save(makeUser(null, "test", "test@yandex.ru"));
+        User stranger = userRepository.save(makeUser(null, "test", "test@gmail.com"));
+        Item item = itemRepository.save(makeItem(null, "Bicycle", "Very fast bicycle",
+                owner.getId(), true, null));
+        Booking ownBooking = bookingRepository.save(makeBooking(booker, item, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2)));
+        Booking otherBooking = bookingRepository.save(makeBooking(stranger, item, LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(4)));
+        long missingId = otherBooking.getId() + 100;
+
+        List<MultiGetEntry<BookingDto>> bookings = bookingService.findBookingsByIds(
+                List.of(ownBooking.getId(), otherBooking.getId(), missingId), booker.getId());
+
+        assertEquals(3, bookings.size(), "Incorrect size");
+        assertEquals(BookingMapper.toBookingDto(ownBooking), bookings.get(0).getValue(), "Incorrect booking");
+        assertNull(bookings.get(1).getValue(), "Foreign booking found");
+        assertEquals("Access error", bookings.get(1).getError(), "Incorrect error");
+        assertNull(bookings.get(2).getValue(), "Missing booking found");
+        assertNotNull(bookings.get(2).getError(), "Incorrect error");
+    }
+
+    @Test
+    void test17_findBookingsByTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, MultiGetIds.MAX_IDS + 1).boxed().collect(Collectors.toList());
+
+        assertThrows(ValidationException.class, () -> bookingService.findBookingsByIds(ids, 1L),
+                "Too many ids accepted");
+    }
+
     private static Stream<Arguments> test15MethodSource() {
         return Stream.of(
                 Arguments.of(-1, 10, "from"),
@@ -368,8 +405,9 @@ public class BookingServiceImplIntTest {
         booking.setBooker(user);
         booking.setItem(item);
         booking.setStatus(BookingStatus.APPROVED);
-        booking.setStartBooking(start);
-        booking.setEndBooking(end);
+        // Booking lists are read from the database, which keeps microseconds
+        booking.setStartBooking(start.truncatedTo(ChronoUnit.MICROS));
+        booking.setEndBooking(end.truncatedTo(ChronoUnit.MICROS));
         return booking;
     }
 }
\ No newline at end of file
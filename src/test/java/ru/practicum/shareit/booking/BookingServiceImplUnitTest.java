@@ -17,7 +17,7 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -33,7 +33,7 @@ public class BookingServiceImplUnitTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
     @Mock
     private ItemRepository itemRepository;
     @InjectMocks
@@ -50,10 +50,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test1_createBooking() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -72,10 +68,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test2_createBookingStartIsBeforeNow() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -89,10 +81,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test3_createBookingEndIsBeforeNow() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -106,10 +94,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test4_createBookingIncorrectItemId() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         assertThrows(ItemNotFoundException.class, () -> bookingService.createBooking(
                 BookingMapper.toBookingShortDto(booking), 2L), "Incorrect exception");
         Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
@@ -117,6 +101,10 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test5_createBookingBookerNotExist() {
+        Mockito
+                .doThrow(UserNotFoundException.class)
+                .when(userExistenceChecker).checkUserExist(2L);
+
         assertThrows(UserNotFoundException.class, () -> bookingService.createBooking(
                 BookingMapper.toBookingShortDto(booking), 2L), "Incorrect exception");
         Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
@@ -124,10 +112,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void test6_createBookingIncorrectBookerId() {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(owner));
-
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -168,10 +152,6 @@ public class BookingServiceImplUnitTest {
     @MethodSource("test9MethodSource")
     @ParameterizedTest
     void test9_approveOrRejectBooking(Boolean isApproved, BookingStatus status) {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(booker));
-
         Mockito
                 .when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenReturn(savedBooking);
@@ -202,10 +182,6 @@ public class BookingServiceImplUnitTest {
                 .when(bookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(savedBooking));
 
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(owner));
-
         assertThrows(IncorrectStatusException.class, () -> bookingService.approveOrRejectBooking(
                 1L, 1L, true), "Incorrect exception");
         Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
@@ -215,10 +191,6 @@ public class BookingServiceImplUnitTest {
     void tes11_createBookingStartWhenItemNotAvailable() {
         item.setIsAvailable(false);
 
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(item));
@@ -235,10 +207,6 @@ public class BookingServiceImplUnitTest {
                 .when(bookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(savedBooking));
 
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(booker));
-
         assertThrows(IncorrectUserIdException.class, () -> bookingService.approveOrRejectBooking(
                 2L, 1L, true), "Incorrect exception");
         Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
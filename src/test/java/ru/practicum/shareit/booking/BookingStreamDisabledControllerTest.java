@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Without {@code spring.r2dbc.url} there is no {@link BookingReactiveService}; the rest of the controller still works.
+ */
+@WebMvcTest(controllers = BookingController.class)
+public class BookingStreamDisabledControllerTest {
+    @MockBean
+    private BookingService bookingService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void test1_streamBookingsWithoutR2dbc() throws Exception {
+        mvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotImplemented());
+    }
+
+    @Test
+    void test2_findBookingsByOwnerWithoutR2dbc() throws Exception {
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CacheStatisticsController.class)
+public class CacheStatisticsControllerTest {
+    @MockBean
+    private CacheStatisticsCollector cacheStatisticsCollector;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void test1_getCacheStatistics() throws Exception {
+        Mockito
+                .when(cacheStatisticsCollector.getRegionStatistics())
+                .thenReturn(List.of(new CacheRegionStats(CacheRegions.ITEMS, 3, 1, 1, 0.75)));
+
+        mvc.perform(get("/admin/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region", is(CacheRegions.ITEMS)))
+                .andExpect(jsonPath("$[0].hits", is(3)))
+                .andExpect(jsonPath("$[0].misses", is(1)))
+                .andExpect(jsonPath("$[0].puts", is(1)))
+                .andExpect(jsonPath("$[0].hitRatio", is(0.75)));
+    }
+
+    @Test
+    void test2_resetCacheStatistics() throws Exception {
+        mvc.perform(delete("/admin/cache-stats"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(cacheStatisticsCollector).reset();
+    }
+}
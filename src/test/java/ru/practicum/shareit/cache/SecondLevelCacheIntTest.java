@@ -0,0 +1,144 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.querycount.QueryBudget.assertMaxQueries;
+import static ru.practicum.shareit.testdata.TestData.deleteAll;
+import static ru.practicum.shareit.testdata.TestData.makeItem;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+/**
+ * The second-level cache is filled on commit, so this test commits its data and removes it afterwards.
+ */
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheIntTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final CacheStatisticsCollector cacheStatisticsCollector;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User requester;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(makeUser("cache-owner@mail.ru"));
+        requester = userRepository.save(makeUser("cache-requester@mail.ru"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll(jdbcTemplate);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void test1_findUserByIdFromCache() {
+        assertMaxQueries(0, () -> assertEquals(owner.getName(),
+                userRepository.findById(owner.getId()).orElseThrow().getName(), "Incorrect user"));
+    }
+
+    @Test
+    void test2_versionBumpKeepsEntitiesCached() {
+        Item item = itemRepository.save(makeItem(owner.getId()));
+
+        itemRepository.incrementVersion(item.getId());
+        userRepository.incrementVersion(owner.getId());
+
+        assertMaxQueries(0, () -> {
+            itemRepository.findById(item.getId());
+            userRepository.findById(owner.getId());
+        });
+        assertEquals(1, itemRepository.findVersionById(item.getId()).orElseThrow().getVersion(),
+                "Incorrect version");
+    }
+
+    @Test
+    void test3_findItemsByOwnerFromQueryCache() {
+        itemRepository.save(makeItem(owner.getId()));
+        PageRequest page = PageRequest.of(0, 10);
+        itemRepository.findAllByOwnerId(owner.getId(), page);
+
+        assertMaxQueries(0, () -> assertEquals(1, itemRepository.findAllByOwnerId(owner.getId(), page).size(),
+                "Incorrect cached items"));
+
+        itemRepository.save(makeItem(owner.getId()));
+        assertEquals(2, itemRepository.findAllByOwnerId(owner.getId(), page).size(), "Stale cached items");
+    }
+
+    @Test
+    void test4_evictRequestItemsOnItemCreate() {
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Need bicycle", requester,
+                LocalDateTime.now(), null, null, false));
+        assertEquals(0, countRequestItems(request.getId()), "Incorrect request items");
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Bicycle");
+        itemDto.setDescription("Very fast bicycle");
+        itemDto.setIsAvailable(true);
+        itemDto.setRequestId(request.getId());
+        itemService.createItem(itemDto, owner.getId());
+
+        assertEquals(1, countRequestItems(request.getId()), "Stale request items");
+    }
+
+    @Test
+    void test5_hideRequestsOfDeletedUser() {
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Need bicycle", requester,
+                LocalDateTime.now(), null, null, false));
+        assertTrue(itemRequestRepository.findById(request.getId()).isPresent(), "Request not found");
+
+        userService.deleteUser(requester.getId());
+
+        assertTrue(itemRequestRepository.findById(request.getId()).isEmpty(), "Request of deleted user found");
+    }
+
+    @Test
+    void test6_countRegionHits() {
+        cacheStatisticsCollector.reset();
+        userRepository.findById(owner.getId());
+        userRepository.findById(owner.getId());
+
+        CacheRegionStats users = cacheStatisticsCollector.getRegionStatistics().stream()
+                .filter(stats -> stats.getRegion().equals(CacheRegions.USERS))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, users.getHits(), "Incorrect hits");
+        assertEquals(1.0, users.getHitRatio(), "Incorrect hit ratio");
+    }
+
+    private int countRequestItems(long requestId) {
+        Integer count = transactionTemplate.execute(status ->
+                itemRequestRepository.findById(requestId).orElseThrow().getItems().size());
+        return count == null ? 0 : count;
+    }
+}
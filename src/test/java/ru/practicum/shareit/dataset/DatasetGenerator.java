@@ -0,0 +1,180 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills empty {@code schema.sql} tables with synthetic rows through batched JDBC inserts, bypassing services and
+ * Hibernate. Rows get explicit ids starting from one, sequences are moved past them afterwards.
+ * <p>
+ * Owners and item popularity follow Zipf distributions: low user ids own most items, and bookings concentrate on
+ * a few items spread over the whole id range. Every table draws from its own random stream split from the seed,
+ * so changing one table's size doesn't change the rows of the tables generated before it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    private static final long[] STRIDES = {1_000_003L, 999_983L};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatasetSummary generate(DatasetSpec spec) {
+        long startTime = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(spec.getSeed());
+        SplittableRandom userRandom = root.split();
+        SplittableRandom requestRandom = root.split();
+        SplittableRandom itemRandom = root.split();
+        SplittableRandom bookingRandom = root.split();
+
+        long users = insertUsers(spec, userRandom);
+        long requests = insertRequests(spec, requestRandom);
+        int[] owners = insertItems(spec, itemRandom, requests);
+        long[] bookingsAndComments = insertBookingsAndComments(spec, bookingRandom, owners);
+
+        restartSequence("users_seq", users);
+        restartSequence("requests_seq", requests);
+        restartSequence("items_seq", owners.length);
+        restartSequence("bookings_seq", bookingsAndComments[0]);
+        restartSequence("comments_seq", bookingsAndComments[1]);
+
+        DatasetSummary summary = new DatasetSummary(users, requests, owners.length, bookingsAndComments[0],
+                bookingsAndComments[1]);
+        log.info("Generated {} in {} ms", summary, (System.nanoTime() - startTime) / 1_000_000);
+        return summary;
+    }
+
+    private long insertUsers(DatasetSpec spec, SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)",
+                spec.getBatchSize());
+        for (long id = 1; id <= spec.getUsers(); id++) {
+            writer.add(id, "user" + id + "-" + Integer.toString(random.nextInt(1 << 20), 36),
+                    "user" + id + "@shareit.test");
+        }
+        return writer.finish();
+    }
+
+    private long insertRequests(DatasetSpec spec, SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("INSERT INTO requests (request_id, description, requester_id, " +
+                "create_time) VALUES (?, ?, ?, ?)", spec.getBatchSize());
+        long count = Math.round(spec.getUsers() * spec.getRequestRatio());
+        for (long id = 1; id <= count; id++) {
+            long requesterId = random.nextInt(spec.getUsers()) + 1;
+            LocalDateTime created = spec.getNow().minusHours(random.nextInt(spec.getBookingSpreadDays() * 24 + 1));
+            writer.add(id, "Looking for item number " + id, requesterId, Timestamp.valueOf(created));
+        }
+        return writer.finish();
+    }
+
+    private int[] insertItems(DatasetSpec spec, SplittableRandom random, long requests) {
+        BatchWriter writer = new BatchWriter("INSERT INTO items (item_id, name, description, available, owner_id, " +
+                "request_id) VALUES (?, ?, ?, ?, ?, ?)", spec.getBatchSize());
+        ZipfSampler ownerSampler = new ZipfSampler(spec.getUsers(), spec.getOwnerExponent());
+        int[] owners = new int[spec.getItems()];
+        for (int id = 1; id <= spec.getItems(); id++) {
+            owners[id - 1] = ownerSampler.sample(random);
+            String description = random.nextDouble() < spec.getSearchTextRatio()
+                    ? "Cordless " + spec.getSearchText() + " number " + id
+                    : "Item number " + id;
+            boolean available = random.nextDouble() >= spec.getUnavailableRatio();
+            Long requestId = requests > 0 && random.nextDouble() < spec.getRequestAnswerRatio()
+                    ? random.nextLong(requests) + 1
+                    : null;
+            writer.add((long) id, "Item " + id, description, available, (long) owners[id - 1], requestId);
+        }
+        writer.finish();
+        return owners;
+    }
+
+    private long[] insertBookingsAndComments(DatasetSpec spec, SplittableRandom random, int[] owners) {
+        BatchWriter bookings = new BatchWriter("INSERT INTO bookings (booking_id, start_date, end_date, item_id, " +
+                "booker_id, status) VALUES (?, ?, ?, ?, ?, ?)", spec.getBatchSize());
+        BatchWriter comments = new BatchWriter("INSERT INTO comments (comment_id, text, item_id, author_id, " +
+                "created) VALUES (?, ?, ?, ?, ?)", spec.getBatchSize());
+        ZipfSampler itemSampler = new ZipfSampler(owners.length, spec.getItemPopularityExponent());
+        long stride = chooseStride(owners.length);
+        int spreadHours = spec.getBookingSpreadDays() * 24;
+        LocalDateTime now = spec.getNow();
+
+        for (long id = 1; id <= spec.getBookings(); id++) {
+            long itemId = (itemSampler.sample(random) - 1) * stride % owners.length + 1;
+            long bookerId = random.nextInt(spec.getUsers()) + 1;
+            if (bookerId == owners[(int) itemId - 1]) {
+                bookerId = bookerId % spec.getUsers() + 1;
+            }
+            LocalDateTime start = now.plusHours(random.nextInt(-spreadHours, spreadHours + 1));
+            LocalDateTime end = start.plusDays(random.nextInt(spec.getMaxBookingDays()) + 1);
+            String status = chooseStatus(random, start, end, now);
+            bookings.add(id, Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, bookerId, status);
+
+            if ("APPROVED".equals(status) && end.isBefore(now) && random.nextDouble() < spec.getCommentRatio()) {
+                comments.add(comments.getCount() + 1, "Comment on item " + itemId, itemId, bookerId,
+                        Timestamp.valueOf(end.plusHours(1)));
+            }
+        }
+        return new long[]{bookings.finish(), comments.finish()};
+    }
+
+    private static String chooseStatus(SplittableRandom random, LocalDateTime start, LocalDateTime end,
+                                       LocalDateTime now) {
+        double value = random.nextDouble();
+        if (end.isBefore(now)) {
+            return value < 0.8 ? "APPROVED" : value < 0.95 ? "REJECTED" : "CANCELED";
+        }
+        if (start.isAfter(now)) {
+            return value < 0.4 ? "WAITING" : "APPROVED";
+        }
+        return "APPROVED";
+    }
+
+    private static long chooseStride(int n) {
+        return n % STRIDES[0] != 0 ? STRIDES[0] : STRIDES[1];
+    }
+
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+
+    private class BatchWriter {
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows;
+        private long count;
+
+        BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            count++;
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long finish() {
+            flush();
+            return count;
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
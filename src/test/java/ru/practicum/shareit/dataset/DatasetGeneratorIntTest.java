@@ -0,0 +1,77 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.deleteAll;
+
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class DatasetGeneratorIntTest {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void test1_generateDatasetOfRequestedSize() {
+        DatasetSpec spec = DatasetSpec.ofItems(2_000);
+
+        DatasetSummary summary = new DatasetGenerator(jdbcTemplate).generate(spec);
+
+        assertEquals(500, summary.getUsers(), "Incorrect users count");
+        assertEquals(50, summary.getRequests(), "Incorrect requests count");
+        assertEquals(2_000, summary.getItems(), "Incorrect items count");
+        assertEquals(6_000, summary.getBookings(), "Incorrect bookings count");
+        assertTrue(summary.getComments() > 0, "Comments weren't generated");
+        assertEquals(summary.getUsers(), count("users"), "Incorrect users rows");
+        assertEquals(summary.getRequests(), count("requests"), "Incorrect requests rows");
+        assertEquals(summary.getItems(), count("items"), "Incorrect items rows");
+        assertEquals(summary.getBookings(), count("bookings"), "Incorrect bookings rows");
+        assertEquals(summary.getComments(), count("comments"), "Incorrect comments rows");
+    }
+
+    @Test
+    void test2_generateSameRowsForSameSeed() {
+        DatasetSpec spec = DatasetSpec.ofItems(500);
+        DatasetGenerator generator = new DatasetGenerator(jdbcTemplate);
+
+        generator.generate(spec);
+        List<Map<String, Object>> items = jdbcTemplate.queryForList("SELECT * FROM items ORDER BY item_id");
+        List<Map<String, Object>> bookings = jdbcTemplate.queryForList("SELECT * FROM bookings ORDER BY booking_id");
+        List<Map<String, Object>> comments = jdbcTemplate.queryForList("SELECT * FROM comments ORDER BY comment_id");
+        deleteAll(jdbcTemplate);
+        generator.generate(spec);
+
+        assertEquals(items, jdbcTemplate.queryForList("SELECT * FROM items ORDER BY item_id"),
+                "Incorrect items");
+        assertEquals(bookings, jdbcTemplate.queryForList("SELECT * FROM bookings ORDER BY booking_id"),
+                "Incorrect bookings");
+        assertEquals(comments, jdbcTemplate.queryForList("SELECT * FROM comments ORDER BY comment_id"),
+                "Incorrect comments");
+    }
+
+    @Test
+    void test3_concentrateBookingsOnPopularItems() {
+        DatasetSpec spec = DatasetSpec.ofItems(1_000);
+
+        new DatasetGenerator(jdbcTemplate).generate(spec);
+
+        long mostBooked = jdbcTemplate.queryForObject("SELECT COUNT(*) AS c FROM bookings GROUP BY item_id " +
+                "ORDER BY c DESC LIMIT 1", Long.class);
+        assertTrue(mostBooked > 10L * spec.getBookings() / spec.getItems(),
+                "Bookings aren't skewed to popular items");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Sizes and distributions of a generated dataset. The same spec with the same seed always produces the same rows.
+ */
+@Data
+public class DatasetSpec {
+    private long seed = 42;
+    private LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+    private int users = 1_000;
+    private int items = 4_000;
+    private int bookings = 12_000;
+    /** Share of users who posted an item request. */
+    private double requestRatio = 0.1;
+    /** Share of items created in response to a request. */
+    private double requestAnswerRatio = 0.2;
+    /** Skew of owner inventory sizes, zero gives every owner about the same number of items. */
+    private double ownerExponent = 1.0;
+    /** Skew of item popularity among bookings. */
+    private double itemPopularityExponent = 1.1;
+    /** Bookings start up to this many days before or after {@link #now}. */
+    private int bookingSpreadDays = 180;
+    private int maxBookingDays = 14;
+    /** Share of finished approved bookings followed by a comment from the booker. */
+    private double commentRatio = 0.3;
+    /** Share of items that can't be booked at the moment. */
+    private double unavailableRatio = 0.1;
+    /** Share of item descriptions that contain {@link #searchText}. */
+    private double searchTextRatio = 0.1;
+    private String searchText = "drill";
+    private int batchSize = 1_000;
+
+    /**
+     * Keeps the default proportions: four items per user and three bookings per item.
+     */
+    public static DatasetSpec ofItems(int items) {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setItems(items);
+        spec.setUsers(Math.max(items / 4, 2));
+        spec.setBookings(items * 3);
+        return spec;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DatasetSummary {
+    private long users;
+    private long requests;
+    private long items;
+    private long bookings;
+    private long comments;
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks from {@code 1} to {@code n} where rank {@code k} has a weight of {@code 1 / k^exponent}.
+ * An exponent of zero gives a uniform distribution.
+ */
+public class ZipfSampler {
+    private final double[] cumulativeWeights;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        cumulativeWeights = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulativeWeights[rank - 1] = sum;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
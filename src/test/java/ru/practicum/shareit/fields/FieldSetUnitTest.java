@@ -0,0 +1,37 @@
+package ru.practicum.shareit.fields;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSetUnitTest {
+    private static final Set<String> KNOWN = Set.of("id", "name", "comments");
+
+    @Test
+    void test1_parseMissingFields() {
+        assertSame(FieldSet.ALL, FieldSet.parse(null, KNOWN), "Incorrect field set");
+        assertSame(FieldSet.ALL, FieldSet.parse(" , ", KNOWN), "Incorrect field set");
+        assertTrue(FieldSet.ALL.includes("comments"), "Field not included");
+    }
+
+    @Test
+    void test2_parseFields() {
+        FieldSet fields = FieldSet.parse("name, id,,id", KNOWN);
+
+        assertEquals(FieldSet.of("id", "name"), fields, "Incorrect field set");
+        assertFalse(fields.isAll(), "All fields selected");
+        assertTrue(fields.includes("name"), "Field not included");
+        assertFalse(fields.includes("comments"), "Field included");
+        assertEquals("id,name", fields.toString(), "Incorrect field list");
+    }
+
+    @Test
+    void test3_parseUnknownField() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> FieldSet.parse("id,owner", KNOWN), "Incorrect exception");
+        assertEquals("Unknown field: owner", exception.getMessage(), "Incorrect message");
+    }
+}
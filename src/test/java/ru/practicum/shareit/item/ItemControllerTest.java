@@ -6,10 +6,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.fields.SparseFieldsConfig;
+import ru.practicum.shareit.format.BinaryFormatConfig;
+import ru.practicum.shareit.format.BinaryFormats;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.multiget.MultiGetEntry;
+import ru.practicum.shareit.querycount.QueryCountHeaderAdvice;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -19,12 +33,17 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import({JsonResponseCache.class, SecondLevelCacheConfig.class, BinaryFormatConfig.class,
+        SparseFieldsConfig.class})
 public class ItemControllerTest {
     @MockBean
     private ItemService itemService;
@@ -35,6 +54,9 @@ public class ItemControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     private final ItemDto item = new ItemDto(null, null, "Bicycle",
             "Really fast bicycle", true, null);
     private final ItemDto savedItem = new ItemDto(1L, 1L, "Bicycle", "Really fast bicycle",
@@ -103,7 +125,8 @@ public class ItemControllerTest {
     @Test
     void test3_getAllItemsByOwner() throws Exception {
         Mockito
-                .when(itemService.getAllItemsByOwner(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
+                .when(itemService.getAllItemsByOwner(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(),
+                        Mockito.eq(FieldSet.ALL)))
                 .thenReturn(List.of(itemWithBooking));
 
         mvc.perform(get("/items")
@@ -132,12 +155,15 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].comments[0].authorName", is(shortComment.getAuthorName())))
                 .andExpect(jsonPath("$[0].comments[0].created", is(notNullValue())));
 
-        Mockito.verify(itemService, times(1)).getAllItemsByOwner(1L, 0, 10);
+        Mockito.verify(itemService, times(1)).getAllItemsByOwner(1L, 0, 10, FieldSet.ALL);
 
     }
 
     @Test
     void test4_findItemById() throws Exception {
+        Mockito
+                .when(itemService.getItemVersion(1L, 1L))
+                .thenReturn("3");
         Mockito
                 .when(itemService.findItemById(Mockito.anyLong(), Mockito.anyLong()))
                 .thenReturn(itemWithBooking);
@@ -164,7 +190,10 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.comments[0].id", is(shortComment.getId().intValue())))
                 .andExpect(jsonPath("$.comments[0].text", is(shortComment.getText())))
                 .andExpect(jsonPath("$.comments[0].authorName", is(shortComment.getAuthorName())))
-                .andExpect(jsonPath("$.comments[0].created", is(notNullValue())));
+                .andExpect(jsonPath("$.comments[0].created", is(notNullValue())))
+                .andExpect(header().string(QueryCountHeaderAdvice.HEADER, "0"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-3\""))
+                .andExpect(header().string(HttpHeaders.VARY, "X-Sharer-User-Id"));
 
         Mockito.verify(itemService, times(1)).findItemById(Mockito.anyLong(), Mockito.anyLong());
     }
@@ -235,4 +264,111 @@ public class ItemControllerTest {
         Mockito.verify(itemService, times(1))
                 .createCommentToItem(2L, comment, 1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void test8_findNotModifiedItem() throws Exception {
+        Mockito
+                .when(itemService.getItemVersion(1L, 1L))
+                .thenReturn("3");
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-3\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(itemService, Mockito.never()).findItemById(Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    @Test
+    void test9_findItemByIdAsSmile() throws Exception {
+        Mockito
+                .when(itemService.getItemVersion(1L, 1L))
+                .thenReturn("4");
+        Mockito
+                .when(itemService.findItemById(1L, 1L, FieldSet.ALL))
+                .thenReturn(itemWithBooking);
+
+        MvcResult result = mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(BinaryFormats.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormats.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-4\""))
+                .andReturn();
+
+        ItemBookingDto received = smileConverter.getObjectMapper().readValue(
+                result.getResponse().getContentAsByteArray(), ItemBookingDto.class);
+        assertEquals(itemWithBooking.getName(), received.getName(), "Incorrect item name");
+        assertEquals(itemWithBooking.getLastBooking().getId(), received.getLastBooking().getId(),
+                "Incorrect last booking");
+        assertEquals(shortComment.getCreated(), received.getComments().iterator().next().getCreated(),
+                "Incorrect comment date");
+    }
+
+    @Test
+    void test10_getAllItemsByOwnerWithFields() throws Exception {
+        Mockito
+                .when(itemService.getAllItemsByOwner(1L, 0, 10, FieldSet.of("id", "name")))
+                .thenReturn(List.of(itemWithBooking));
+
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "id,name")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is(itemWithBooking.getName())))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].lastBooking").doesNotExist())
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+    }
+
+    @Test
+    void test11_findItemByIdWithUnknownField() throws Exception {
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "id,price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemService, Mockito.never()).getItemVersion(1L, 1L);
+    }
+
+    @Test
+    void test12_findItemsByIds() throws Exception {
+        Mockito
+                .when(itemService.findItemsByIds(List.of(1L, 5L), 1L, FieldSet.ALL))
+                .thenReturn(List.of(MultiGetEntry.found(1L, itemWithBooking),
+                        MultiGetEntry.failed(5L, new ItemNotFoundException())));
+
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("ids", "1,5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].value.name", is(itemWithBooking.getName())))
+                .andExpect(jsonPath("$[0].value.lastBooking.id", is(1)))
+                .andExpect(jsonPath("$[1].id", is(5)))
+                .andExpect(jsonPath("$[1].value").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is("This item doesn't exist")));
+
+        Mockito.verify(itemService, Mockito.never()).getAllItemsByOwner(1L, 0, 10, FieldSet.ALL);
+    }
+
+    @Test
+    void test13_findItemsByTooManyIds() throws Exception {
+        Mockito
+                .when(itemService.findItemsByIds(Mockito.anyList(), Mockito.anyLong(), Mockito.any()))
+                .thenThrow(new ValidationException("No more than 100 ids can be requested at once"));
+
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("ids", "1,2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
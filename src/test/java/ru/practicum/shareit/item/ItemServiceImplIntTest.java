@@ -12,6 +12,7 @@ import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.IncorrectUserIdException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.fields.FieldSet;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -20,6 +21,7 @@ import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
@@ -93,7 +95,7 @@ public class ItemServiceImplIntTest {
                 LocalDateTime.now().minusDays(1)));
         bookingRepository.save(makeBooking(null, booker, item, LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2)));
-        commentRepository.save(makeComment(null, booker, item, "Really great"));
+        Comment comment = commentRepository.save(makeComment(null, booker, item, "Really great"));
 
         ItemBookingDto returnedItem = itemService.findItemById(item.getId(), booker.getId());
 
@@ -102,7 +104,7 @@ public class ItemServiceImplIntTest {
         assertEquals("Bicycle", returnedItem.getName(), "Incorrect name");
         assertNull(returnedItem.getLastBooking());
         assertNotNull(returnedItem.getComments());
-        assertEquals(1L, returnedItem.getComments().stream().findFirst().get().getId(),
+        assertEquals(comment.getId(), returnedItem.getComments().stream().findFirst().get().getId(),
                 "Incorrect comment id");
     }
 
@@ -264,6 +266,96 @@ public class ItemServiceImplIntTest {
     }
 
 
+    @Test
+    void test13_changeItemVersionWhenCommented() {
+        User owner = userRepository.save(makeUser(null, "test", "test@mail.ru"));
+        User booker = userRepository.save(makeUser(null, "test", "test@yandex.ru"));
+        Item item = itemRepository.save(makeItem(null, "Bicycle", "Very fast bicycle",
+                owner.getId(), true, null));
+        bookingRepository.save(makeBooking(null, booker, item, LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(1)));
+        String ownerVersion = itemService.getItemVersion(item.getId(), owner.getId());
+        String bookerVersion = itemService.getItemVersion(item.getId(), booker.getId());
+
+        itemService.createCommentToItem(booker.getId(),
+                CommentMapper.toCommentDto(makeComment(null, booker, item, "Really great")), item.getId());
+
+        assertNotEquals(ownerVersion, bookerVersion, "Owner and booker see the same version");
+        assertNotEquals(ownerVersion, itemService.getItemVersion(item.getId(), owner.getId()),
+                "Owner's version wasn't changed");
+        assertNotEquals(bookerVersion, itemService.getItemVersion(item.getId(), booker.getId()),
+                "Booker's version wasn't changed");
+    }
+
+    @Test
+    void test14_changeOwnersItemVersionWhenBookingStarts() {
+        User owner = userRepository.save(makeUser(null, "test", "test@mail.ru"));
+        User booker = userRepository.save(makeUser(null, "test", "test@yandex.ru"));
+        Item item = itemRepository.save(makeItem(null, "Bicycle", "Very fast bicycle",
+                owner.getId(), true, null));
+        String ownerVersion = itemService.getItemVersion(item.getId(), owner.getId());
+        String bookerVersion = itemService.getItemVersion(item.getId(), booker.getId());
+
+        bookingRepository.save(makeBooking(null, booker, item, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusDays(1)));
+
+        assertNotEquals(ownerVersion, itemService.getItemVersion(item.getId(), owner.getId()),
+                "Owner's version wasn't changed");
+        assertEquals(bookerVersion, itemService.getItemVersion(item.getId(), booker.getId()),
+                "Booker's version was changed");
+    }
+
+    @Test
+    void test15_findItemsByIds() {
+        User owner = userRepository.save(makeUser(null, "test", "test@mail.ru"));
+        User booker = userRepository.save(makeUser(null, "test", "test@yandex.ru"));
+        Item bicycle = itemRepository.save(makeItem(null, "Bicycle", "Very fast bicycle",
+                owner.getId(), true, null));
+        Item scooter = itemRepository.save(makeItem(null, "Scooter", "Electric scooter",
+                owner.getId(), true, null));
+        bookingRepository.save(makeBooking(null, booker, bicycle, LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(3)));
+        Booking lastBooking = bookingRepository.save(makeBooking(null, booker, bicycle,
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+        Booking nextBooking = bookingRepository.save(makeBooking(null, booker, scooter,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        bookingRepository.save(makeBooking(null, booker, scooter, LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(4)));
+        commentRepository.save(makeComment(null, booker, bicycle, "Great bicycle"));
+        long missingId = scooter.getId() + 100;
+
+        List<MultiGetEntry<ItemBookingDto>> items = itemService.findItemsByIds(
+                List.of(scooter.getId(), missingId, bicycle.getId(), scooter.getId()), owner.getId(), FieldSet.ALL);
+
+        assertEquals(3, items.size(), "Incorrect list size");
+        assertEquals(scooter.getId(), items.get(0).getId(), "Incorrect order");
+        assertNull(items.get(0).getValue().getLastBooking(), "Incorrect last booking");
+        assertEquals(nextBooking.getId(), items.get(0).getValue().getNextBooking().getId(),
+                "Incorrect next booking");
+        assertEquals(missingId, items.get(1).getId(), "Incorrect order");
+        assertNull(items.get(1).getValue(), "Missing item found");
+        assertEquals("This item doesn't exist", items.get(1).getError(), "Incorrect error");
+        assertEquals(lastBooking.getId(), items.get(2).getValue().getLastBooking().getId(),
+                "Incorrect last booking");
+        assertEquals(1, items.get(2).getValue().getComments().size(), "Incorrect comments");
+    }
+
+    @Test
+    void test16_findItemsByIdsHidesBookingsFromOthers() {
+        User owner = userRepository.save(makeUser(null, "test", "test@mail.ru"));
+        User booker = userRepository.save(makeUser(null, "test", "test@yandex.ru"));
+        Item item = itemRepository.save(makeItem(null, "Bicycle", "Very fast bicycle",
+                owner.getId(), true, null));
+        bookingRepository.save(makeBooking(null, booker, item, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+
+        List<MultiGetEntry<ItemBookingDto>> items = itemService.findItemsByIds(List.of(item.getId()),
+                booker.getId(), FieldSet.ALL);
+
+        assertEquals(1, items.size(), "Incorrect list size");
+        assertNull(items.get(0).getValue().getLastBooking(), "Booker sees the last booking");
+    }
+
     private static Item makeItem(Long id, String name, String description, Long ownerId, Boolean isAvailable,
                                  ItemRequest request) {
         Item item = new Item();
@@ -8,10 +8,13 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.JsonResponseCache;
 import ru.practicum.shareit.exception.IncorrectUserIdException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -23,7 +26,9 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.threads.QueryFanOut;
+import ru.practicum.shareit.user.UserExistenceChecker;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.List;
@@ -42,9 +47,19 @@ public class ItemServiceImplUnitTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceChecker userExistenceChecker;
+    @Mock
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private JsonResponseCache jsonResponseCache;
+    @Spy
+    private QueryFanOut queryFanOut = QueryFanOut.sequential();
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -52,15 +67,10 @@ public class ItemServiceImplUnitTest {
             true, null);
     private final Item savedItem = makeItem(1L, "Bicycle", "Very fast bicycle", 1L,
             true, null);
-    private final User user = makeUser(1L, "test", "user@yandex.ru");
-    private final User user2 = makeUser(2L, "test", "user@mail.ru");
 
 
     @Test
     void test1_createCorrectItem() {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
         Mockito
                 .when(itemRepository.save(Mockito.any(Item.class)))
                 .thenReturn(savedItem);
@@ -73,6 +83,10 @@ public class ItemServiceImplUnitTest {
 
     @Test
     void test2_createItemIncorrectUserId() {
+        Mockito
+                .doThrow(UserNotFoundException.class)
+                .when(userExistenceChecker).checkUserExist(100L);
+
         assertThrows(UserNotFoundException.class, () -> itemService.createItem(ItemMapper.toItemDto(item), 100L),
                 "Incorrect exception");
         Mockito.verify(itemRepository, Mockito.never()).save(Mockito.any(Item.class));
@@ -103,9 +117,6 @@ public class ItemServiceImplUnitTest {
 
     @Test
     void test4_updateItem() {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
         Mockito
                 .when(itemRepository.getReferenceById(1L))
                 .thenReturn(savedItem);
@@ -124,10 +135,6 @@ public class ItemServiceImplUnitTest {
 
     @Test
     void test5_updateItemWhenIsNotOwner() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(user2));
-
         Mockito
                 .when(itemRepository.getReferenceById(1L))
                 .thenReturn(savedItem);
@@ -140,9 +147,6 @@ public class ItemServiceImplUnitTest {
     @Test
     void test5_getAllItemsByOwnerWithCorrectPagination() {
         PageRequest pageable = PageRequest.of(0 / 10, 10);
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
         Mockito
                 .when(itemRepository.findAllByOwnerId(1L, pageable))
                 .thenReturn(List.of(item));
@@ -158,10 +162,6 @@ public class ItemServiceImplUnitTest {
     @MethodSource("test6MethodSource")
     @ParameterizedTest
     void test6_getAllItemsByOwnerWithIncorrectPagination(Integer from, Integer size) {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-
         assertThrows(ValidationException.class, () -> itemService.getAllItemsByOwner(1L,
                 from, size), "Incorrect exception");
         Mockito.verify(itemRepository, Mockito.never()).findAllByOwnerId(1L, Pageable.unpaged());
@@ -176,9 +176,6 @@ public class ItemServiceImplUnitTest {
 
     @Test
     void test7_findItemById() {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
         Mockito
                 .when(itemRepository.findById(1L))
                 .thenReturn(Optional.of(savedItem));
@@ -193,10 +190,6 @@ public class ItemServiceImplUnitTest {
 
     @Test
     void test8_findItemByIncorrectItemId() {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-
         assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(100L,
                 1L), "Incorrect exception");
     }
@@ -213,12 +206,4 @@ public class ItemServiceImplUnitTest {
         item.setRequest(request);
         return item;
     }
-
-    private static User makeUser(Long id, String name, String email) {
-        User user = new User();
-        user.setId(id);
-        user.setName(name);
-        user.setEmail(email);
-        return user;
-    }
 }
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.IncorrectStatusException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsAspectIntTest {
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void test1_timeServiceMethodByState() {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+        long servicesBefore = count(MetricsAspect.SERVICE_TIMER, "findBookingsByOwner", "PAST", "SUCCESS");
+        long queriesBefore = count(MetricsAspect.REPOSITORY_TIMER, "findAllPastBookingsByOwner", "none", "SUCCESS");
+
+        bookingService.findBookingsByOwner(owner.getId(), "PAST", 0, 10);
+
+        assertEquals(servicesBefore + 1, count(MetricsAspect.SERVICE_TIMER, "findBookingsByOwner", "PAST", "SUCCESS"),
+                "Service call wasn't timed");
+        assertEquals(queriesBefore + 1, count(MetricsAspect.REPOSITORY_TIMER, "findAllPastBookingsByOwner", "none",
+                "SUCCESS"), "Repository call wasn't timed");
+    }
+
+    @Test
+    void test2_timeFailedServiceMethodWithUnsupportedState() {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+        long before = count(MetricsAspect.SERVICE_TIMER, "findBookingsByOwner", "UNSUPPORTED", "ERROR");
+
+        assertThrows(IncorrectStatusException.class,
+                () -> bookingService.findBookingsByOwner(owner.getId(), "SOMETHING", 0, 10),
+                "Incorrect exception");
+
+        Timer timer = meterRegistry.find(MetricsAspect.SERVICE_TIMER)
+                .tags("method", "findBookingsByOwner", "state", "UNSUPPORTED", "outcome", "ERROR",
+                        "exception", "IncorrectStatusException")
+                .timer();
+        assertNotNull(timer, "Failed call wasn't timed");
+        assertEquals(before + 1, timer.count(), "Incorrect failed calls count");
+    }
+
+    private long count(String name, String method, String state, String outcome) {
+        Timer timer = meterRegistry.find(name).tags("method", method, "state", state, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.purge;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.makeBooking;
+import static ru.practicum.shareit.testdata.TestData.makeComment;
+import static ru.practicum.shareit.testdata.TestData.makeItem;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class DeletedDataPurgerIntTest {
+    private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final DeletedDataPurger deletedDataPurger;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Test
+    void test1_deleteUserHidesAndPurgesHisData() {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+        User booker = userRepository.save(makeUser("booker@yandex.ru"));
+        Item item = itemRepository.save(makeItem(owner.getId()));
+        Booking booking = bookingRepository.save(makeBooking(booker, item, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+        Comment comment = commentRepository.save(makeComment(booker, item));
+        entityManager.flush();
+
+        userService.deleteUser(owner.getId());
+
+        assertFalse(userRepository.existsById(owner.getId()), "User is still visible");
+        assertFalse(itemRepository.existsById(item.getId()), "Item is still visible");
+        assertFalse(bookingRepository.existsById(booking.getId()), "Booking is still visible");
+        assertFalse(commentRepository.existsById(comment.getId()), "Comment is still visible");
+        assertEquals(1, countRows("users", "user_id", owner.getId()), "User was removed synchronously");
+
+        expireRetention(owner.getId());
+        assertEquals(4, deletedDataPurger.purge(), "Incorrect purged rows count");
+        assertEquals(0, countRows("users", "user_id", owner.getId()), "User wasn't purged");
+        assertEquals(0, countRows("items", "item_id", item.getId()), "Item wasn't purged");
+        assertEquals(0, countRows("bookings", "booking_id", booking.getId()), "Booking wasn't purged");
+        assertEquals(1, countRows("users", "user_id", booker.getId()), "Booker was purged");
+    }
+
+    @Test
+    void test2_deleteItemHidesAndPurgesItsData() {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+        User booker = userRepository.save(makeUser("booker@yandex.ru"));
+        Item item = itemRepository.save(makeItem(owner.getId()));
+        Item otherItem = itemRepository.save(makeItem(owner.getId()));
+        Booking booking = bookingRepository.save(makeBooking(booker, item, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        itemService.deleteItem(item.getId(), owner.getId());
+
+        assertFalse(itemRepository.existsById(item.getId()), "Item is still visible");
+        assertFalse(bookingRepository.existsById(booking.getId()), "Booking is still visible");
+        assertTrue(itemRepository.existsById(otherItem.getId()), "Other item was hidden");
+
+        assertEquals(2, deletedDataPurger.purge(), "Incorrect purged rows count");
+        assertEquals(0, countRows("items", "item_id", item.getId()), "Item wasn't purged");
+        assertEquals(1, countRows("items", "item_id", otherItem.getId()), "Other item was purged");
+    }
+
+    @Test
+    void test3_purgeRequestKeepsAnsweringItems() {
+        User requester = userRepository.save(makeUser("requester@mail.ru"));
+        User owner = userRepository.save(makeUser("owner@yandex.ru"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Need bicycle", requester,
+                LocalDateTime.now(), null, null, false));
+        Item item = makeItem(owner.getId());
+        item.setRequest(request);
+        item = itemRepository.save(item);
+        entityManager.flush();
+        long version = itemRepository.findVersionById(item.getId()).orElseThrow().getVersion();
+
+        userService.deleteUser(requester.getId());
+        assertTrue(isFlaggedDeleted("requests", "request_id", request.getId()), "Request wasn't flagged");
+        assertFalse(itemRequestRepository.existsById(request.getId()), "Request is still visible");
+        deletedDataPurger.purge();
+        entityManager.clear();
+
+        assertEquals(0, countRows("requests", "request_id", request.getId()), "Request wasn't purged");
+        Item answer = itemRepository.findById(item.getId()).orElseThrow();
+        assertNull(answer.getRequest(), "Item is still linked to the purged request");
+        assertEquals(version + 1, itemRepository.findVersionById(item.getId()).orElseThrow().getVersion(),
+                "Item version wasn't incremented");
+    }
+
+    @Test
+    void test4_deleteBookerFlagsHisBookingsAndComments() {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+        User booker = userRepository.save(makeUser("booker@yandex.ru"));
+        Item item = itemRepository.save(makeItem(owner.getId()));
+        Booking booking = bookingRepository.save(makeBooking(booker, item, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+        Comment comment = commentRepository.save(makeComment(booker, item));
+        entityManager.flush();
+
+        userService.deleteUser(booker.getId());
+
+        assertTrue(isFlaggedDeleted("bookings", "booking_id", booking.getId()), "Booking wasn't flagged");
+        assertTrue(isFlaggedDeleted("comments", "comment_id", comment.getId()), "Comment wasn't flagged");
+        assertFalse(bookingRepository.existsById(booking.getId()), "Booking is still visible");
+        assertTrue(itemRepository.existsById(item.getId()), "Item was hidden");
+    }
+
+    @Test
+    void test5_keepRecentlyDeletedUserForResync() {
+        User user = userRepository.save(makeUser("user@mail.ru"));
+        entityManager.flush();
+
+        userService.deleteUser(user.getId());
+
+        assertEquals(0, deletedDataPurger.purge(), "Incorrect purged rows count");
+        assertEquals(1, countRows("users", "user_id", user.getId()), "User was purged within retention");
+        expireRetention(user.getId());
+        assertEquals(1, deletedDataPurger.purge(), "Incorrect purged rows count");
+        assertEquals(0, countRows("users", "user_id", user.getId()), "User wasn't purged");
+    }
+
+    private void expireRetention(long userId) {
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE user_id = ?", LocalDateTime.now().minusDays(1),
+                userId);
+    }
+
+    private boolean isFlaggedDeleted(String table, String idColumn, long id) {
+        return jdbcTemplate.queryForObject("SELECT deleted FROM " + table + " WHERE " + idColumn + " = ?",
+                Boolean.class, id);
+    }
+
+    private int countRows(String table, String idColumn, long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + idColumn + " = ?",
+                Integer.class, id);
+    }
+}
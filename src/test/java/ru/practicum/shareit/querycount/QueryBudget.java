@@ -0,0 +1,30 @@
+package ru.practicum.shareit.querycount;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails a test when the code under test executes more SQL statements than its budget. Flush pending inserts
+ * before calling it, otherwise Hibernate sends them inside the measured block.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static int assertMaxQueries(int max, Executable executable) {
+        QueryCounter.start();
+        int count;
+        try {
+            executable.execute();
+        } catch (Throwable e) {
+            throw new AssertionError("Measured block failed", e);
+        } finally {
+            count = QueryCounter.stop();
+        }
+        int executed = count;
+        assertTrue(executed <= max, () -> "Expected at most " + max + " queries, but " + executed + " were executed");
+        return executed;
+    }
+}
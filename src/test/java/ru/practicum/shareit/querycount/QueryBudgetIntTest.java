@@ -0,0 +1,186 @@
+package ru.practicum.shareit.querycount;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.querycount.QueryBudget.assertMaxQueries;
+import static ru.practicum.shareit.testdata.TestData.makeBooking;
+import static ru.practicum.shareit.testdata.TestData.makeItem;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+/**
+ * Locks the number of statements per service call. Budgets that grow with {@link #ITEMS} mark per-row query loops.
+ */
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryBudgetIntTest {
+    private static final int ITEMS = 3;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(makeUser("owner@mail.ru"));
+        booker = userRepository.save(makeUser("booker@mail.ru"));
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Need item " + i, booker,
+                    LocalDateTime.now(), null, null, false));
+            item = itemRepository.save(makeItem(owner.getId(), request));
+            itemIds.add(item.getId());
+            LocalDateTime now = LocalDateTime.now();
+            bookingRepository.save(makeBooking(booker, item, now.minusDays(2), now.minusDays(1)));
+            bookingRepository.save(makeBooking(booker, item, now.plusDays(2), now.plusDays(3)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void test1_getAllItemsByOwner() {
+        assertMaxQueries(2 + 2 * ITEMS, () -> itemService.getAllItemsByOwner(owner.getId(), 0, 10));
+    }
+
+    @Test
+    void test2_findItemById() {
+        assertMaxQueries(5, () -> itemService.findItemById(item.getId(), owner.getId()));
+    }
+
+    @Test
+    void test3_findBookingsByOwner() {
+        assertMaxQueries(2, () -> bookingService.findBookingsByOwner(owner.getId(), "ALL", 0, 10));
+    }
+
+    @Test
+    void test4_createBooking() {
+        BookingShortDto booking = new BookingShortDto(null, LocalDateTime.now().plusDays(5),
+                LocalDateTime.now().plusDays(6), item.getId(), null, null);
+        assertMaxQueries(4, () -> {
+            bookingService.createBooking(booking, booker.getId());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void test5_getAllRequestsByRequester() {
+        assertMaxQueries(2 + ITEMS, () -> itemRequestService.getAllRequestsByRequester(booker.getId()));
+    }
+
+    @Test
+    void test6_findBookingsByBooker() {
+        assertMaxQueries(2, () -> bookingService.findBookingsByBooker(booker.getId(), "ALL", 0, 10));
+    }
+
+    @Test
+    void test7_findBookingById() {
+        Booking booking = bookingRepository.findAllByItemId(item.getId()).get(0);
+        entityManager.clear();
+        assertMaxQueries(1, () -> bookingService.findBookingById(booking.getId(), booker.getId()));
+    }
+
+    @Test
+    void test8_approveBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = makeBooking(booker, item, now.plusDays(10), now.plusDays(11), BookingStatus.WAITING);
+        long bookingId = bookingRepository.save(booking).getId();
+        entityManager.flush();
+        entityManager.clear();
+        assertMaxQueries(3, () -> {
+            bookingService.approveOrRejectBooking(owner.getId(), bookingId, true);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void test9_findItemByIdAsBooker() {
+        assertMaxQueries(3, () -> itemService.findItemById(item.getId(), booker.getId()));
+    }
+
+    @Test
+    void test10_createComment() {
+        CommentDto comment = new CommentDto(null, "Great bicycle", null, null, null);
+        assertMaxQueries(7, () -> {
+            itemService.createCommentToItem(booker.getId(), comment, item.getId());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    void test11_getRequestById() {
+        assertMaxQueries(3, () -> itemRequestService.getRequestById(owner.getId(), item.getRequest().getId()));
+    }
+
+    @Test
+    void test12_getAllRequestsWithPagination() {
+        assertMaxQueries(2 + ITEMS, () -> itemRequestService.getAllRequestsWithPagination(owner.getId(), 0, 10));
+    }
+
+    @Test
+    void test13_getAllItemsByOwnerWithoutBookings() {
+        assertMaxQueries(2, () -> itemService.getAllItemsByOwner(owner.getId(), 0, 10, FieldSet.of("id", "name")));
+    }
+
+    @Test
+    void test14_findItemByIdWithoutBookingsAndComments() {
+        assertMaxQueries(2, () -> itemService.findItemById(item.getId(), owner.getId(), FieldSet.of("id", "name")));
+    }
+
+    @Test
+    void test15_getAllRequestsWithPaginationWithoutItems() {
+        assertMaxQueries(2, () -> itemRequestService.getAllRequestsWithPagination(owner.getId(), 0, 10,
+                FieldSet.of("id", "description")));
+    }
+
+    @Test
+    void test16_findItemsByIds() {
+        assertMaxQueries(5, () -> itemService.findItemsByIds(itemIds, owner.getId(), FieldSet.ALL));
+    }
+
+    @Test
+    void test17_findBookingsByIds() {
+        List<Long> bookingIds = bookingRepository.findAll().stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        entityManager.clear();
+        assertMaxQueries(1, () -> bookingService.findBookingsByIds(bookingIds, booker.getId()));
+    }
+}
@@ -6,8 +6,14 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
+import ru.practicum.shareit.fields.FieldSet;
+import ru.practicum.shareit.fields.SparseFieldsConfig;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
@@ -22,10 +28,12 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import({JsonResponseCache.class, SecondLevelCacheConfig.class, SparseFieldsConfig.class})
 public class ItemRequestControllerTest {
     @MockBean
     private ItemRequestService itemRequestService;
@@ -71,7 +79,7 @@ public class ItemRequestControllerTest {
     @Test
     void test2_getAllRequestsByRequester() throws Exception {
         Mockito
-                .when(itemRequestService.getAllRequestsByRequester(2L))
+                .when(itemRequestService.getAllRequestsByRequester(2L, FieldSet.ALL))
                 .thenReturn(List.of(requestWithItem));
 
         mvc.perform(get("/requests")
@@ -88,13 +96,13 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].items[0]", is(notNullValue())))
                 .andExpect(jsonPath("$[0].items[0].name", is(item.getName())));
 
-        Mockito.verify(itemRequestService, times(1)).getAllRequestsByRequester(2L);
+        Mockito.verify(itemRequestService, times(1)).getAllRequestsByRequester(2L, FieldSet.ALL);
     }
 
     @Test
     void test3_getAllRequestsWithPagination() throws Exception {
         Mockito
-                .when(itemRequestService.getAllRequestsWithPagination(1L, 0, 10))
+                .when(itemRequestService.getAllRequestsWithPagination(1L, 0, 10, FieldSet.ALL))
                 .thenReturn(List.of(requestWithItem));
 
         mvc.perform(get("/requests/all")
@@ -114,7 +122,7 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].items[0].name", is(item.getName())));
 
         Mockito.verify(itemRequestService, times(1))
-                .getAllRequestsWithPagination(1L, 0, 10);
+                .getAllRequestsWithPagination(1L, 0, 10, FieldSet.ALL);
     }
 
     @Test
@@ -139,4 +147,44 @@ public class ItemRequestControllerTest {
 
         Mockito.verify(itemRequestService, times(1)).getRequestById(1L, 1L);
     }
+
+    @Test
+    void test5_getNotModifiedRequest() throws Exception {
+        Mockito
+                .when(itemRequestService.getRequestVersion(1L, 1L))
+                .thenReturn(4L);
+
+        mvc.perform(get("/requests/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"request-1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"request-1-4\""));
+
+        mvc.perform(get("/requests/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"request-1-4\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(itemRequestService, times(1)).getRequestById(1L, 1L);
+    }
+
+    @Test
+    void test6_getRequestByIdWithFields() throws Exception {
+        Mockito
+                .when(itemRequestService.getRequestById(1L, 1L, FieldSet.of("id", "description")))
+                .thenReturn(requestWithItem);
+
+        mvc.perform(get("/requests/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("fields", "id,description")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.description", is(requestWithItem.getDescription())))
+                .andExpect(jsonPath("$.items").doesNotExist());
+
+        Mockito.verify(itemRequestService, Mockito.never()).getRequestById(1L, 1L);
+    }
 }
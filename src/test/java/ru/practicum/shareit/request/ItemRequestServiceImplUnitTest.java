@@ -20,7 +20,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserExistenceChecker;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,7 +39,7 @@ public class ItemRequestServiceImplUnitTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -54,9 +54,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test1_createItemRequest() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
         Mockito
                 .when(itemRequestRepository.save(Mockito.any(ItemRequest.class)))
                 .thenReturn(savedRequest);
@@ -70,6 +67,10 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test2_createItemRequestWithIncorrectUserId() {
+        Mockito
+                .doThrow(UserNotFoundException.class)
+                .when(userExistenceChecker).checkUserExist(100L);
+
         assertThrows(UserNotFoundException.class, () -> itemRequestService.createItemRequest(
                 ItemRequestMapper.toItemRequestDto(request), 100L), "Incorrect exception");
         Mockito.verify(itemRequestRepository, Mockito.never()).save(Mockito.any(ItemRequest.class));
@@ -77,10 +78,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test3_createItemRequestWithIncorrectRequestDescription() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
-
         request.setDescription("");
         assertThrows(ValidationException.class, () -> itemRequestService.createItemRequest(
                 ItemRequestMapper.toItemRequestDto(request), 2L), "Incorrect exception");
@@ -89,9 +86,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test4_getAllRequestsByRequester() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
         Mockito
                 .when(itemRequestRepository.findAllByRequesterIdOrderByCreatedAsc(2L))
                 .thenReturn(List.of(savedRequest));
@@ -105,9 +99,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test5_getAllRequestsByRequesterWhenEmpty() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
         Mockito
                 .when(itemRequestRepository.findAllByRequesterIdOrderByCreatedAsc(2L))
                 .thenReturn(new ArrayList<>());
@@ -122,9 +113,6 @@ public class ItemRequestServiceImplUnitTest {
     @Test
     void test6_getAllRequestsWithPagination() {
         PageRequest pageRequest = PageRequest.of(0 / 10, 10, Sort.by("created").descending());
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(requester));
         Mockito
                 .when(itemRequestRepository.findAllByRequesterIdNot(1L, pageRequest))
                 .thenReturn(List.of(savedRequest));
@@ -139,9 +127,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test7_getRequestById() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
         Mockito
                 .when(itemRequestRepository.findById(1L))
                 .thenReturn(Optional.of(savedRequest));
@@ -155,10 +140,6 @@ public class ItemRequestServiceImplUnitTest {
     @MethodSource("test8MethodSource")
     @ParameterizedTest
     void test8_getAllRequestsWithIncorrectPagination(Integer from, Integer size) {
-        Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(requester));
-
         assertThrows(ValidationException.class, () -> itemRequestService.getAllRequestsWithPagination(1L,
                 from, size), "Incorrect exception");
         Mockito.verify(itemRequestRepository, Mockito.never())
@@ -174,10 +155,6 @@ public class ItemRequestServiceImplUnitTest {
 
     @Test
     void test9_getRequestByIncorrectId() {
-        Mockito
-                .when(userRepository.findById(2L))
-                .thenReturn(Optional.of(requester));
-
         assertThrows(RequestNotFoundException.class, () -> itemRequestService.getRequestById(2L, 100L),
                 "Incorrect exception");
     }
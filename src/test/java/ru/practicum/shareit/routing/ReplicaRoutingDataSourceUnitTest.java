@@ -0,0 +1,103 @@
+package ru.practicum.shareit.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceUnitTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource firstReplica;
+    @Mock
+    private DataSource secondReplica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection firstConnection;
+    @Mock
+    private Connection secondConnection;
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.allowReplica(false);
+        RoutingContext.requirePrimary(false);
+    }
+
+    @Test
+    void test1_usePrimaryByDefault() throws SQLException {
+        Mockito
+                .when(primary.getConnection())
+                .thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary,
+                List.of(firstReplica, secondReplica));
+
+        assertSame(primaryConnection, dataSource.getConnection(), "Incorrect data source");
+        Mockito.verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void test2_spreadReadsOverReplicas() throws SQLException {
+        Mockito
+                .when(firstReplica.getConnection())
+                .thenReturn(firstConnection);
+        Mockito
+                .when(secondReplica.getConnection())
+                .thenReturn(secondConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary,
+                List.of(firstReplica, secondReplica));
+
+        RoutingContext.allowReplica(true);
+
+        assertSame(firstConnection, dataSource.getConnection(), "Incorrect data source");
+        assertSame(secondConnection, dataSource.getConnection(), "Incorrect data source");
+        assertSame(firstConnection, dataSource.getConnection(), "Incorrect data source");
+        Mockito.verifyNoInteractions(primary);
+    }
+
+    @Test
+    void test3_usePrimaryAfterRecentWrite() throws SQLException {
+        Mockito
+                .when(primary.getConnection())
+                .thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica));
+
+        RoutingContext.allowReplica(true);
+        RoutingContext.requirePrimary(true);
+
+        assertSame(primaryConnection, dataSource.getConnection(), "Incorrect data source");
+        Mockito.verifyNoInteractions(firstReplica);
+    }
+
+    @Test
+    void test4_wrapEveryTargetSeparately() throws SQLException {
+        Mockito
+                .when(firstReplica.getConnection())
+                .thenReturn(firstConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica));
+        List<DataSource> wrapped = new ArrayList<>();
+
+        dataSource.wrapTargets(target -> {
+            wrapped.add(target);
+            return target;
+        });
+        RoutingContext.allowReplica(true);
+
+        assertEquals(List.of(primary, firstReplica), wrapped, "Incorrect wrapped targets");
+        assertSame(firstConnection, dataSource.getConnection(), "Incorrect data source");
+        assertSame(primary, dataSource.getPrimary(), "Incorrect primary");
+    }
+}
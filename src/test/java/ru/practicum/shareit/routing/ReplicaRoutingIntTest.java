@@ -0,0 +1,134 @@
+package ru.practicum.shareit.routing;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The replica is a separate H2 database with the same user under another name, so every response shows where it
+ * was read from. Reads through a replica can't join a test transaction, so the data is committed. The caches stay
+ * on, so the tests also show that nothing read from the replica is cached for primary reads.
+ */
+@SpringBootTest(properties = {
+        "db.name=test",
+        "shareit.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replicas[0].username=test",
+        "shareit.datasource.replicas[0].password=test"})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReplicaRoutingIntTest {
+    private static final long USER_ID = 900_001L;
+
+    private final MockMvc mvc;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JsonResponseCache jsonResponseCache;
+    private final UserService userService;
+    private final UserRepository userRepository;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource replica = dataSource.unwrap(ReplicaRoutingDataSource.class).getReplicas().get(0);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        String insert = "INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)";
+        jdbcTemplate.update(insert, USER_ID, "primary", "routing@mail.ru");
+        replicaJdbcTemplate.update(insert, USER_ID, "replica", "routing@mail.ru");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", USER_ID);
+        entityManagerFactory.getCache().evictAll();
+        jsonResponseCache.evict(JsonResponseCache.userKey(USER_ID));
+    }
+
+    @Test
+    void test1_readFromReplica() throws Exception {
+        mvc.perform(get("/users/" + USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("replica")));
+    }
+
+    @Test
+    void test2_readOwnWriteFromPrimary() throws Exception {
+        String token = mvc.perform(patch("/users/" + USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("updated")))
+                .andReturn().getResponse().getHeader(SessionTokenFilter.HEADER);
+        assertNotNull(token, "Session token is missing");
+
+        mvc.perform(get("/users/" + USER_ID)
+                        .header(SessionTokenFilter.HEADER, token))
+                .andExpect(jsonPath("$.name", is("updated")));
+        mvc.perform(get("/users/" + USER_ID))
+                .andExpect(jsonPath("$.name", is("updated")));
+    }
+
+    @Test
+    void test3_ignoreExpiredSessionToken() throws Exception {
+        mvc.perform(get("/users/" + USER_ID)
+                        .header(SessionTokenFilter.HEADER, System.currentTimeMillis() - 60_000))
+                .andExpect(jsonPath("$.name", is("replica")));
+    }
+
+    @Test
+    void test4_acceptSessionTokenFromClockAhead() throws Exception {
+        String token = mvc.perform(patch("/users/" + USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"updated\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SessionTokenFilter.HEADER);
+        assertNotNull(token, "Session token is missing");
+
+        mvc.perform(get("/users/" + USER_ID)
+                        .header(SessionTokenFilter.HEADER, Long.parseLong(token) + 2_000))
+                .andExpect(jsonPath("$.name", is("updated")));
+    }
+
+    @Test
+    void test5_keepReplicaRowsOutOfPrimaryReads() throws Exception {
+        mvc.perform(get("/users/" + USER_ID))
+                .andExpect(jsonPath("$.name", is("replica")));
+
+        mvc.perform(get("/users/" + USER_ID)
+                        .header(SessionTokenFilter.HEADER, System.currentTimeMillis()))
+                .andExpect(jsonPath("$.name", is("primary")));
+    }
+
+    @Test
+    void test6_keepReplicaRowsOutOfCacheWithoutOpenSession() {
+        assertEquals("replica", userService.findUserById(USER_ID).getName(), "Incorrect replica user");
+
+        assertEquals("primary", userRepository.findById(USER_ID).orElseThrow().getName(), "Stale cached user");
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.slowquery;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = SlowQueryController.class, properties = "shareit.slow-query.enabled=true")
+public class SlowQueryControllerTest {
+    @MockBean
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void test1_getSlowQueries() throws Exception {
+        SlowQuery query = new SlowQuery(LocalDateTime.now(), "SELECT * FROM bookings WHERE booker_id = ?",
+                List.of("1"), 250, "BookingServiceImpl.findBookingsByBooker");
+        query.setPlan("SCAN bookings");
+        Mockito
+                .when(slowQueryLog.getSlowQueries())
+                .thenReturn(List.of(query));
+
+        mvc.perform(get("/admin/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sql", is(query.getSql())))
+                .andExpect(jsonPath("$[0].parameters[0]", is("1")))
+                .andExpect(jsonPath("$[0].elapsedMillis", is(250)))
+                .andExpect(jsonPath("$[0].caller", is(query.getCaller())))
+                .andExpect(jsonPath("$[0].plan", is("SCAN bookings")));
+    }
+}
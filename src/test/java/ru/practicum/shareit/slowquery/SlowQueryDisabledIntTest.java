@@ -0,0 +1,29 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Without {@code shareit.slow-query.enabled} statements run on the plain data source.
+ */
+@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SlowQueryDisabledIntTest {
+    private final ApplicationContext context;
+    private final DataSource dataSource;
+
+    @Test
+    void test1_slowQueryLogIsOffByDefault() {
+        assertTrue(context.getBeansOfType(SlowQueryLog.class).isEmpty(), "Slow query log is enabled");
+        assertTrue(context.getBeansOfType(SlowQueryController.class).isEmpty(), "Slow query endpoint is enabled");
+        assertFalse(Proxy.isProxyClass(dataSource.getClass()), "Data source is wrapped");
+    }
+}
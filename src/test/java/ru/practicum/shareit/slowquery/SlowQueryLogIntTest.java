@@ -0,0 +1,58 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+@Transactional
+@SpringBootTest(
+        properties = {"db.name=test", "shareit.slow-query.enabled=true", "shareit.slow-query.threshold-ms=0",
+                "shareit.slow-query.capacity=5"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SlowQueryLogIntTest {
+    private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final SlowQueryLog slowQueryLog;
+
+    @Test
+    void test1_recordSlowQueryWithParametersCallerAndPlan() throws InterruptedException {
+        User owner = userRepository.save(makeUser("owner@mail.ru"));
+
+        bookingService.findBookingsByOwner(owner.getId(), "CURRENT", 0, 10);
+
+        SlowQuery query = slowQueryLog.getSlowQueries().stream()
+                .filter(q -> q.getSql().contains("bookings"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertEquals("BookingServiceImpl.findBookingsByOwner", query.getCaller(), "Incorrect caller");
+        assertTrue(query.getParameters().contains(String.valueOf(owner.getId())), "Incorrect parameters");
+        for (int i = 0; i < 50 && query.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(query.getPlan(), "Plan wasn't captured");
+        assertFalse(query.getPlan().startsWith("Plan is unavailable"), query.getPlan());
+    }
+
+    @Test
+    void test2_keepOnlyLastQueries() {
+        for (int i = 0; i < 10; i++) {
+            userRepository.existsByEmail("user" + i + "@mail.ru");
+        }
+
+        List<SlowQuery> queries = slowQueryLog.getSlowQueries();
+
+        assertEquals(5, queries.size(), "Incorrect size");
+        assertEquals(List.of("user9@mail.ru"), queries.get(4).getParameters(), "Incorrect last query");
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.testdata;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unsaved entities for integration tests and a cleanup for tests that can't roll back, e.g. because the code under
+ * test commits in its own transactions or on other threads.
+ */
+public final class TestData {
+    private static final List<String> TABLES = List.of("comments", "bookings", "items", "requests", "users");
+
+    private TestData() {
+    }
+
+    public static User makeUser(String email) {
+        User user = new User();
+        user.setName("test");
+        user.setEmail(email);
+        return user;
+    }
+
+    public static Item makeItem(Long ownerId) {
+        return makeItem(ownerId, null);
+    }
+
+    public static Item makeItem(Long ownerId, ItemRequest request) {
+        Item item = new Item();
+        item.setName("Bicycle");
+        item.setDescription("Very fast bicycle");
+        item.setOwnerId(ownerId);
+        item.setIsAvailable(true);
+        item.setRequest(request);
+        return item;
+    }
+
+    public static Booking makeBooking(User booker, Item item, LocalDateTime start, LocalDateTime end) {
+        return makeBooking(booker, item, start, end, BookingStatus.APPROVED);
+    }
+
+    public static Booking makeBooking(User booker, Item item, LocalDateTime start, LocalDateTime end,
+                                      BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(status);
+        booking.setStartBooking(start);
+        booking.setEndBooking(end);
+        return booking;
+    }
+
+    public static Comment makeComment(User author, Item item) {
+        Comment comment = new Comment();
+        comment.setText("Really great");
+        comment.setAuthor(author);
+        comment.setItem(item);
+        comment.setCreated(LocalDateTime.now());
+        return comment;
+    }
+
+    /**
+     * Deletes every row of the {@code schema.sql} tables, children first.
+     */
+    public static void deleteAll(JdbcTemplate jdbcTemplate) {
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+}
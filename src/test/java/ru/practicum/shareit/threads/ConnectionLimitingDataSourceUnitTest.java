@@ -0,0 +1,68 @@
+package ru.practicum.shareit.threads;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionLimitingDataSourceUnitTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+
+    @Test
+    void test1_waitForPermitWhenAllConnectionsAreInUse() throws SQLException {
+        Mockito
+                .when(dataSource.getConnection())
+                .thenReturn(connection);
+        DataSource limited = ConnectionLimitingDataSource.wrap(dataSource, 1, 50);
+
+        Connection first = limited.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection, "Incorrect exception");
+        first.close();
+        first.close();
+        limited.getConnection().close();
+        assertThrows(SQLTransientConnectionException.class, () -> {
+            limited.getConnection();
+            limited.getConnection();
+        }, "Double close released the permit twice");
+        Mockito.verify(connection, times(3)).close();
+    }
+
+    @Test
+    void test2_releasePermitWhenConnectionFails() throws SQLException {
+        Mockito
+                .when(dataSource.getConnection())
+                .thenThrow(new SQLException("Database is down"))
+                .thenReturn(connection);
+        DataSource limited = ConnectionLimitingDataSource.wrap(dataSource, 1, 50);
+
+        assertThrows(SQLException.class, limited::getConnection, "Incorrect exception");
+        assertNotNull(limited.getConnection(), "Permit wasn't released");
+    }
+
+    @Test
+    void test3_createVirtualThreadExecutorOnlyOnJava21() throws Exception {
+        if (VirtualThreads.isSupported()) {
+            assertTrue(VirtualThreads.newThreadPerTaskExecutor("test-")
+                    .submit(() -> Thread.currentThread().toString()).get().startsWith("VirtualThread"),
+                    "Task didn't run on a virtual thread");
+        } else {
+            assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-"),
+                    "Incorrect exception");
+        }
+    }
+}
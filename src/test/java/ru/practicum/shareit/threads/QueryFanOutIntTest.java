@@ -0,0 +1,74 @@
+package ru.practicum.shareit.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.deleteAll;
+import static ru.practicum.shareit.testdata.TestData.makeBooking;
+import static ru.practicum.shareit.testdata.TestData.makeComment;
+import static ru.practicum.shareit.testdata.TestData.makeItem;
+import static ru.practicum.shareit.testdata.TestData.makeUser;
+
+/**
+ * Fanned-out queries run outside the test transaction, so this test commits its data and removes it afterwards.
+ */
+@SpringBootTest(
+        properties = {"db.name=test", "shareit.query-fan-out.enabled=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryFanOutIntTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemService itemService;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        deleteAll(jdbcTemplate);
+    }
+
+    @Test
+    void test1_findItemByIdWithFannedOutQueries() {
+        User owner = userRepository.save(makeUser("fan-out-owner@mail.ru"));
+        User booker = userRepository.save(makeUser("fan-out-booker@mail.ru"));
+        Item item = itemRepository.save(makeItem(owner.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.save(makeBooking(booker, item, now.minusDays(2), now.minusDays(1)));
+        Booking next = bookingRepository.save(makeBooking(booker, item, now.plusDays(1), now.plusDays(2)));
+        commentRepository.save(makeComment(booker, item));
+
+        ItemBookingDto found = itemService.findItemById(item.getId(), owner.getId());
+
+        assertEquals(last.getId(), found.getLastBooking().getId(), "Incorrect last booking");
+        assertEquals(next.getId(), found.getNextBooking().getId(), "Incorrect next booking");
+        assertEquals(1, found.getComments().size(), "Incorrect comments");
+    }
+
+    @Test
+    void test2_reportExecutorQueueDepth() {
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", QueryFanOutConfig.EXECUTOR_NAME).gauge(),
+                "Queue depth isn't reported");
+        assertNotNull(meterRegistry.find("executor.queue.remaining").tag("name", QueryFanOutConfig.EXECUTOR_NAME)
+                .gauge(), "Queue capacity isn't reported");
+    }
+}
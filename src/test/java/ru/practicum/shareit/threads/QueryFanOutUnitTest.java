@@ -0,0 +1,73 @@
+package ru.practicum.shareit.threads;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.QueryTimeoutException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryFanOutUnitTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private final QueryFanOut queryFanOut = new QueryFanOut(executor, 1000);
+
+    @AfterEach
+    void tearDown() {
+        queryFanOut.shutdown();
+    }
+
+    @Test
+    void test1_runQueriesConcurrently() {
+        CountDownLatch started = new CountDownLatch(3);
+        Runnable query = () -> {
+            started.countDown();
+            try {
+                assertTrue(started.await(500, TimeUnit.MILLISECONDS), "Queries didn't run concurrently");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        queryFanOut.runAll(List.of(query, query, query));
+
+        assertEquals(0, started.getCount(), "Not all queries were run");
+    }
+
+    @Test
+    void test2_cancelQueriesAfterDeadline() {
+        QueryFanOut withShortDeadline = new QueryFanOut(executor, 50);
+        Runnable slowQuery = () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        assertThrows(QueryTimeoutException.class, () -> withShortDeadline.runAll(List.of(() -> { }, slowQuery)),
+                "Incorrect exception");
+    }
+
+    @Test
+    void test3_rethrowQueryFailure() {
+        assertThrows(ItemNotFoundException.class, () -> queryFanOut.runAll(List.of(() -> { }, () -> {
+            throw new ItemNotFoundException();
+        })), "Incorrect exception");
+    }
+
+    @Test
+    void test4_runSequentiallyOnCallerThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        QueryFanOut.sequential().runAll(List.of(() -> { }, () -> thread.set(Thread.currentThread())));
+
+        assertEquals(Thread.currentThread(), thread.get(), "Query ran on another thread");
+    }
+}
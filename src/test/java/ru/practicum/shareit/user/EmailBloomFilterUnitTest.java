@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailBloomFilterUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private EmailBloomFilter emailBloomFilter;
+
+    @Test
+    void test1_putEmail() {
+        assertFalse(emailBloomFilter.mightContain("user@yandex.ru"), "Empty filter contains email");
+
+        emailBloomFilter.put("user@yandex.ru");
+
+        assertTrue(emailBloomFilter.mightContain("user@yandex.ru"), "Email wasn't added");
+        assertTrue(emailBloomFilter.mightContain(" User@Yandex.RU"), "Email wasn't normalized");
+    }
+
+    @Test
+    void test2_falsePositiveRate() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            emailBloomFilter.put("user" + i + "@yandex.ru");
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < count; i++) {
+            assertTrue(emailBloomFilter.mightContain("user" + i + "@yandex.ru"), "False negative");
+            if (emailBloomFilter.mightContain("user" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < count / 100, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void test3_rebuild() {
+        emailBloomFilter.put("deleted@yandex.ru");
+        Mockito
+                .when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("user@yandex.ru"));
+
+        emailBloomFilter.rebuild();
+
+        assertTrue(emailBloomFilter.mightContain("user@yandex.ru"), "Email wasn't loaded");
+        assertFalse(emailBloomFilter.mightContain("deleted@yandex.ru"), "Filter wasn't cleared");
+    }
+
+    @Test
+    void test4_rebuildWhenCapacityPassed() {
+        Mockito
+                .when(userRepository.count())
+                .thenReturn(10L);
+        Mockito
+                .when(userRepository.streamAllEmails())
+                .thenAnswer(invocation -> Stream.of("user@yandex.ru"));
+        emailBloomFilter.rebuild();
+        emailBloomFilter.rebuildIfFull();
+        Mockito.verify(userRepository, Mockito.times(1)).streamAllEmails();
+
+        for (int i = 0; i <= 100_000; i++) {
+            emailBloomFilter.put("user" + i + "@yandex.ru");
+        }
+        emailBloomFilter.rebuildIfFull();
+
+        Mockito.verify(userRepository, Mockito.times(2)).streamAllEmails();
+        assertTrue(emailBloomFilter.mightContain("user@yandex.ru"), "Email wasn't loaded");
+    }
+}
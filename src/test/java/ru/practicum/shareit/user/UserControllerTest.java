@@ -6,24 +6,38 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.cache.SecondLevelCacheConfig;
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
+@Import({JsonResponseCache.class, SecondLevelCacheConfig.class})
 public class UserControllerTest {
     @MockBean
     private UserService userService;
@@ -124,7 +138,8 @@ public class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.name", is(savedUser1.getName())))
-                .andExpect(jsonPath("$.email", is(savedUser1.getEmail())));
+                .andExpect(jsonPath("$.email", is(savedUser1.getEmail())))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-0\""));
 
         Mockito.verify(userService, times(1)).findUserById(1L);
     }
@@ -189,4 +204,208 @@ public class UserControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    void test10_getUsersWithPagination() throws Exception {
+        Mockito
+                .when(userService.getAllUsers(0, 1))
+                .thenReturn(List.of(savedUser1));
+
+        mvc.perform(get("/users")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        Mockito.verify(userService, times(1)).getAllUsers(0, 1);
+        Mockito.verify(userService, Mockito.never()).getAllUsers();
+    }
+
+    @Test
+    void test11_getUsersAfterId() throws Exception {
+        Mockito
+                .when(userService.getUsersAfterId(1L, null))
+                .thenReturn(List.of(savedUser2));
+
+        mvc.perform(get("/users")
+                        .param("afterId", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(2)));
+
+        Mockito.verify(userService, times(1)).getUsersAfterId(1L, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test12_streamUsers() throws Exception {
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<UserDto> consumer = invocation.getArgument(0);
+                    consumer.accept(savedUser1);
+                    consumer.accept(savedUser2);
+                    return null;
+                })
+                .when(userService).streamAllUsers(Mockito.any(Consumer.class));
+
+        MvcResult result = mvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].email", is(savedUser2.getEmail())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test13_importUsersFromJson() throws Exception {
+        Mockito
+                .when(userService.importUsers(Mockito.any(Iterator.class)))
+                .thenAnswer(invocation -> {
+                    Iterator<UserDto> users = invocation.getArgument(0);
+                    int count = 0;
+                    while (users.hasNext()) {
+                        users.next();
+                        count++;
+                    }
+                    return new UserImportResultDto(count, 0, new ArrayList<>());
+                });
+
+        mvc.perform(post("/users/import")
+                        .content(mapper.writeValueAsString(List.of(userDto, savedUser2)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+    }
+
+    @Test
+    void test13_importUsersFromUnreadableJson() throws Exception {
+        mvc.perform(post("/users/import")
+                        .content("not json")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(0)))
+                .andExpect(jsonPath("$.errors", hasSize(1)));
+        Mockito.verify(userService, Mockito.never()).importUsers(Mockito.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test14_importUsersFromCsv() throws Exception {
+        List<UserDto> importedUsers = new ArrayList<>();
+        Mockito
+                .when(userService.importUsers(Mockito.any(Iterator.class)))
+                .thenAnswer(invocation -> {
+                    Iterator<UserDto> users = invocation.getArgument(0);
+                    users.forEachRemaining(importedUsers::add);
+                    return new UserImportResultDto(importedUsers.size(), 0, new ArrayList<>());
+                });
+
+        mvc.perform(post("/users/import")
+                        .content("name,email\ntest1,test@yandex.ru\n\n\"Doe, John\", john@mail.ru\n" +
+                                "test2,test@mail.ru\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(3)));
+
+        assertEquals(savedUser1.getName(), importedUsers.get(0).getName(), "Incorrect name");
+        assertEquals(new UserDto(null, "Doe, John", "john@mail.ru"), importedUsers.get(1), "Incorrect quoted row");
+        assertEquals(savedUser2.getEmail(), importedUsers.get(2).getEmail(), "Incorrect email");
+    }
+
+    @Test
+    void test15_createUserWithExistingEmail() throws Exception {
+        Mockito
+                .when(userService.createUser(userDto))
+                .thenThrow(new EmailAlreadyExistsException());
+
+        mvc.perform(post("/users")
+                        .content(mapper.writeValueAsString(userDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("This email is already in use")));
+    }
+
+    @Test
+    void test16_findNotModifiedUser() throws Exception {
+        Mockito
+                .when(userService.getUserVersion(1L))
+                .thenReturn(2L);
+
+        mvc.perform(get("/users/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1-2\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(userService, Mockito.never()).findUserById(1L);
+    }
+
+    @Test
+    void test17_findUserByIdFromJsonCache() throws Exception {
+        Mockito
+                .when(userService.getUserVersion(1L))
+                .thenReturn(5L);
+        Mockito
+                .when(userService.findUserById(1L))
+                .thenReturn(savedUser1);
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/users/1")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name", is(savedUser1.getName())))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-5\""));
+        }
+        Mockito.verify(userService, times(1)).findUserById(1L);
+
+        Mockito
+                .when(userService.getUserVersion(1L))
+                .thenReturn(6L);
+        mvc.perform(get("/users/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        Mockito.verify(userService, times(2)).findUserById(1L);
+    }
+
+    @Test
+    void test18_findUsersByIds() throws Exception {
+        Mockito
+                .when(userService.findUsersByIds(List.of(1L, 100L)))
+                .thenReturn(List.of(MultiGetEntry.found(1L, savedUser1),
+                        MultiGetEntry.failed(100L, new UserNotFoundException())));
+
+        mvc.perform(get("/users")
+                        .param("ids", "1,100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].value.name", is(savedUser1.getName())))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].id", is(100)))
+                .andExpect(jsonPath("$[1].value").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is(new UserNotFoundException().getMessage())));
+
+        Mockito.verify(userService, Mockito.never()).getAllUsers();
+    }
 }
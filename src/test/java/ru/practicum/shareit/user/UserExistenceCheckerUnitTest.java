@@ -0,0 +1,127 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceCheckerUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private UserExistenceChecker userExistenceChecker;
+
+    @Test
+    void test1_checkWarmedUpUserWithoutQuery() {
+        Mockito
+                .when(userRepository.findAllIds())
+                .thenReturn(List.of(1L, 2L));
+
+        userExistenceChecker.warmUp();
+        userExistenceChecker.checkUserExist(1L);
+
+        Mockito.verify(userRepository, Mockito.never()).existsById(Mockito.anyLong());
+    }
+
+    @Test
+    void test2_checkUnknownUserFallsBackToQueryOnce() {
+        Mockito
+                .when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        userExistenceChecker.checkUserExist(1L);
+        userExistenceChecker.checkUserExist(1L);
+
+        Mockito.verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void test3_checkNotExistingUser() {
+        assertThrows(UserNotFoundException.class, () -> userExistenceChecker.checkUserExist(100L),
+                "Incorrect exception");
+    }
+
+    @Test
+    void test4_checkUnregisteredUser() {
+        userExistenceChecker.registerUser(1L);
+        userExistenceChecker.unregisterUser(1L);
+
+        assertThrows(UserNotFoundException.class, () -> userExistenceChecker.checkUserExist(1L),
+                "Incorrect exception");
+        Mockito.verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void test5_deleteDuringFallbackQueryIsNotUndone() {
+        Mockito
+                .when(userRepository.existsById(1L))
+                .thenAnswer(invocation -> {
+                    userExistenceChecker.unregisterUser(1L);
+                    return true;
+                })
+                .thenReturn(false);
+
+        userExistenceChecker.checkUserExist(1L);
+
+        assertThrows(UserNotFoundException.class, () -> userExistenceChecker.checkUserExist(1L),
+                "Deleted user is still cached");
+    }
+
+    @Test
+    void test6_refreshDropsUsersDeletedElsewhere() {
+        Mockito
+                .when(userRepository.findAllIds())
+                .thenReturn(List.of(1L, 2L));
+        Mockito
+                .when(userRepository.findIdsDeletedSince(Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(1L));
+
+        userExistenceChecker.warmUp();
+        userExistenceChecker.refresh();
+
+        assertThrows(UserNotFoundException.class, () -> userExistenceChecker.checkUserExist(1L),
+                "Deleted user is still cached");
+        userExistenceChecker.checkUserExist(2L);
+        Mockito.verify(userRepository, Mockito.never()).existsById(2L);
+        Mockito.verify(userRepository, times(1)).findAllIds();
+    }
+
+    @Test
+    void test7_refreshLooksBackPastThePreviousOne() {
+        LocalDateTime start = LocalDateTime.now();
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        userExistenceChecker.refresh();
+        userExistenceChecker.refresh();
+
+        Mockito.verify(userRepository, times(2)).findIdsDeletedSince(since.capture());
+        assertTrue(since.getAllValues().get(1).isAfter(since.getAllValues().get(0)), "Resync didn't move on");
+        assertTrue(since.getAllValues().get(1).isBefore(start), "Resync doesn't overlap the previous one");
+    }
+
+    @Test
+    void test8_checkIdOutsideBitSetRangeWithQuery() {
+        long userId = Integer.MAX_VALUE + 1L;
+        Mockito
+                .when(userRepository.existsById(userId))
+                .thenReturn(true);
+
+        userExistenceChecker.checkUserExist(userId);
+        userExistenceChecker.checkUserExist(userId);
+
+        Mockito.verify(userRepository, times(2)).existsById(userId);
+    }
+}
@@ -1,23 +1,42 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.multiget.MultiGetEntry;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.testdata.TestData.deleteAll;
 
 @Transactional
 @SpringBootTest(
         properties = "db.name=test",
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
 public class UserServiceImplIntTest {
 
     private final UserService userService;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
 
     @Test
     void test1_updateUserName() {
@@ -89,6 +108,128 @@ public class UserServiceImplIntTest {
                 "Incorrect exception");
     }
 
+    @Test
+    void test6_getUsersAfterId() {
+        UserDto firstUser = userService.createUser(makeUser("first", "first@yandex.ru"));
+        UserDto secondUser = userService.createUser(makeUser("second", "second@yandex.ru"));
+        UserDto thirdUser = userService.createUser(makeUser("third", "third@yandex.ru"));
+
+        List<UserDto> users = userService.getUsersAfterId(firstUser.getId(), 1);
+        List<UserDto> nextUsers = userService.getUsersAfterId(users.get(0).getId(), 10);
+
+        assertEquals(1, users.size(), "Incorrect list size");
+        assertEquals(secondUser.getId(), users.get(0).getId(), "Incorrect Id");
+        assertEquals(1, nextUsers.size(), "Incorrect list size");
+        assertEquals(thirdUser.getId(), nextUsers.get(0).getId(), "Incorrect Id");
+    }
+
+    @Test
+    void test7_streamAllUsers() {
+        userService.createUser(makeUser("first", "first@yandex.ru"));
+        userService.createUser(makeUser("second", "second@yandex.ru"));
+        List<UserDto> users = new ArrayList<>();
+
+        userService.streamAllUsers(users::add);
+
+        assertEquals(userService.getAllUsers().size(), users.size(), "Incorrect list size");
+    }
+
+    @Test
+    void test8_importUsersThroughput() {
+        int count = 10_000;
+        userService.createUser(makeUser("existing", "user0@yandex.ru"));
+        List<UserDto> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(makeUser("user" + i, "user" + i + "@yandex.ru"));
+        }
+
+        long start = System.nanoTime();
+        UserImportResultDto result = userService.importUsers(users.iterator());
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Imported {} users in {} ms ({} users/s)", result.getImported(), elapsedMillis,
+                result.getImported() * 1000L / elapsedMillis);
+
+        assertEquals(count - 1, result.getImported(), "Incorrect imported count");
+        assertEquals(1, result.getRejected(), "Incorrect rejected count");
+        assertEquals(count, userService.getAllUsers().size(), "Incorrect users count");
+    }
+
+    @Test
+    void test9_saveUsersInJdbcBatches() {
+        int count = 1_000;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(UserMapper.toUser(makeUser("user" + i, "batch" + i + "@yandex.ru")));
+        }
+
+        long start = System.nanoTime();
+        userRepository.saveAll(users);
+        userRepository.flush();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Saved {} users in {} ms ({} users/s) with {} prepared statements", count, elapsedMillis,
+                count * 1000L / elapsedMillis, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(statisticsEnabled);
+
+        assertTrue(statistics.getPrepareStatementCount() < count / 10, "Inserts weren't batched");
+    }
+
+    @Test
+    void test10_createUserWithExistingEmail() {
+        userService.createUser(makeUser("test", "test@yandex.ru"));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> userService.createUser(makeUser("other", "test@yandex.ru")), "Incorrect exception");
+    }
+
+    @Test
+    void test11_incrementVersionOnUpdate() {
+        UserDto savedUser = userService.createUser(makeUser("test", "test@yandex.ru"));
+        long version = userService.getUserVersion(savedUser.getId());
+
+        userService.updateUser(makeUser("update", null), savedUser.getId());
+
+        assertEquals(version + 1, userService.getUserVersion(savedUser.getId()), "Version wasn't incremented");
+        assertThrows(UserNotFoundException.class, () -> userService.getUserVersion(-1L), "Incorrect exception");
+    }
+
+    @Test
+    void test12_findUsersByIds() {
+        UserDto savedUser = userService.createUser(makeUser("test", "test@yandex.ru"));
+        long missingId = savedUser.getId() + 100;
+
+        List<MultiGetEntry<UserDto>> users = userService.findUsersByIds(List.of(missingId, savedUser.getId()));
+
+        assertEquals(2, users.size(), "Incorrect size");
+        assertEquals(missingId, users.get(0).getId(), "Incorrect order");
+        assertNull(users.get(0).getValue(), "Missing user found");
+        assertNotNull(users.get(0).getError(), "Incorrect error");
+        assertEquals(savedUser, users.get(1).getValue(), "Incorrect user");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void test13_importUsersWhenEmailTakenDuringImport() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "other", "concurrent@yandex.ru");
+        try {
+            UserImportResultDto result = userService.importUsers(List.of(
+                    makeUser("first", "first@yandex.ru"),
+                    makeUser("taken", "concurrent@yandex.ru"),
+                    makeUser("third", "third@yandex.ru")).iterator());
+
+            assertEquals(2, result.getImported(), "Incorrect imported count");
+            assertEquals(1, result.getRejected(), "Incorrect rejected count");
+            assertEquals(List.of("Line 2: Email concurrent@yandex.ru already exists"), result.getErrors(),
+                    "Incorrect errors");
+            assertEquals(3, userRepository.count(), "Incorrect users count");
+        } finally {
+            deleteAll(jdbcTemplate);
+        }
+    }
+
     private static UserDto makeUser(String name, String email) {
         UserDto user = new UserDto();
         user.setId(null);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -9,13 +10,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.JsonResponseCache;
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -28,6 +47,26 @@ public class UserServiceImplUnitTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private UserBatchRepository userBatchRepository;
+    @Mock
+    private UserExistenceChecker userExistenceChecker;
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private JsonResponseCache jsonResponseCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -37,13 +76,16 @@ public class UserServiceImplUnitTest {
     @Test
     void test1_createCorrectUser() {
         Mockito
-                .when(userRepository.save(Mockito.any(User.class)))
+                .when(userRepository.saveAndFlush(Mockito.any(User.class)))
                 .thenReturn(firstUser);
 
         UserDto user = userService.createUser(UserMapper.toUserDto(firstUser));
 
         assertThat(user).isNotNull();
-        Mockito.verify(userRepository, times(1)).save(Mockito.any(User.class));
+        Mockito.verify(userRepository, times(1)).saveAndFlush(Mockito.any(User.class));
+        Mockito.verify(userRepository, Mockito.never()).existsByEmail(Mockito.anyString());
+        Mockito.verify(userExistenceChecker, times(1)).registerUser(1L);
+        Mockito.verify(emailBloomFilter, times(1)).put(firstUser.getEmail());
     }
 
     @MethodSource("test2MethodSource")
@@ -51,7 +93,7 @@ public class UserServiceImplUnitTest {
     void test2_createUserWithIncorrectEmail(User user) {
         assertThrows(ValidationException.class, () -> userService.createUser(UserMapper.toUserDto(user)),
                 "Incorrect exception");
-        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(Mockito.any(User.class));
     }
 
     private static Stream<Arguments> test2MethodSource() {
@@ -67,7 +109,7 @@ public class UserServiceImplUnitTest {
     void test3_createUserWithIncorrectName(User user) {
         assertThrows(ValidationException.class, () -> userService.createUser(UserMapper.toUserDto(user)),
                 "Incorrect exception");
-        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(Mockito.any(User.class));
     }
 
     private static Stream<Arguments> test3MethodSource() {
@@ -118,13 +160,209 @@ public class UserServiceImplUnitTest {
     @Test
     void test7_deleteUser() {
         Mockito
-                .doNothing()
-                .when(userRepository)
-                .deleteById(1L);
+                .when(userRepository.markDeleted(Mockito.eq(1L), Mockito.any(LocalDateTime.class)))
+                .thenReturn(1);
 
         userService.deleteUser(1L);
 
-        Mockito.verify(userRepository, times(1)).deleteById(1L);
+        Mockito.verify(userRepository, times(1)).markDeleted(Mockito.eq(1L), Mockito.any(LocalDateTime.class));
+        Mockito.verify(itemRepository, times(1)).markDeletedByOwnerId(1L);
+        Mockito.verify(itemRequestRepository, times(1)).markDeletedByRequesterId(1L);
+        Mockito.verify(userExistenceChecker, times(1)).unregisterUser(1L);
+    }
+
+    @Test
+    void test7_deleteUserByIncorrectId() {
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(100L),
+                "Incorrect exception");
+
+        Mockito.verify(itemRepository, Mockito.never()).markDeletedByOwnerId(Mockito.anyLong());
+    }
+
+    @Test
+    void test8_getAllUsersWithPagination() {
+        PageRequest pageable = PageRequest.of(2 / 2, 2, Sort.by("id"));
+        Mockito
+                .when(userRepository.findAll(pageable))
+                .thenReturn(new PageImpl<>(List.of(firstUser, secondUser)));
+
+        List<UserDto> users = userService.getAllUsers(2, 2);
+
+        assertThat(users.size()).isEqualTo(2);
+        Mockito.verify(userRepository, times(1)).findAll(pageable);
+    }
+
+    @MethodSource("test9MethodSource")
+    @ParameterizedTest
+    void test9_getAllUsersWithIncorrectPagination(Integer from, Integer size) {
+        assertThrows(ValidationException.class, () -> userService.getAllUsers(from, size),
+                "Incorrect exception");
+        Mockito.verify(userRepository, Mockito.never()).findAll(Mockito.any(PageRequest.class));
+    }
+
+    private static Stream<Arguments> test9MethodSource() {
+        return Stream.of(
+                Arguments.of(-1, 10),
+                Arguments.of(0, -10),
+                Arguments.of(null, 0)
+        );
+    }
+
+    @Test
+    void test10_streamAllUsers() {
+        Mockito
+                .when(userRepository.streamAll())
+                .thenReturn(Stream.of(firstUser, secondUser));
+        List<UserDto> users = new ArrayList<>();
+
+        userService.streamAllUsers(users::add);
+
+        assertThat(users.size()).isEqualTo(2);
+        Mockito.verify(entityManager, times(2)).detach(Mockito.any(User.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test11_importUsers() {
+        Mockito
+                .when(emailBloomFilter.mightContain(Mockito.anyString()))
+                .thenAnswer(invocation -> "user@yandex.ru".equals(invocation.getArgument(0)));
+        Mockito
+                .when(userRepository.findExistingEmails(List.of("user@yandex.ru")))
+                .thenReturn(Set.of("user@yandex.ru"));
+        Mockito
+                .when(userBatchRepository.insertAll(Mockito.anyList()))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, ((List<User>) invocation.getArgument(0)).size())
+                        .boxed()
+                        .collect(Collectors.toList()));
+
+        UserImportResultDto result = userService.importUsers(List.of(
+                new UserDto(null, "test", "user@yandex.ru"),
+                new UserDto(null, "test", "new@yandex.ru"),
+                new UserDto(null, "test", "new@yandex.ru"),
+                new UserDto(null, "test", "newyandex.ru"),
+                new UserDto(null, "", "other@yandex.ru")).iterator());
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors().size()).isEqualTo(4);
+        assertThat(result.getErrors().get(3)).isEqualTo("Line 1: Email user@yandex.ru already exists");
+        Mockito.verify(userRepository, times(1)).findExistingEmails(Mockito.anyCollection());
+        Mockito.verify(userBatchRepository, times(1)).insertAll(Mockito.anyList());
+        Mockito.verify(userExistenceChecker, times(1)).registerUser(1L);
+    }
+
+    @Test
+    void test12_createUserWithExistingEmail() {
+        Mockito
+                .when(emailBloomFilter.mightContain(firstUser.getEmail()))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.existsByEmail(firstUser.getEmail()))
+                .thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(
+                UserMapper.toUserDto(firstUser)), "Incorrect exception");
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(Mockito.any(User.class));
+    }
+
+    @Test
+    void test13_createUserWhenFilterFalsePositive() {
+        Mockito
+                .when(emailBloomFilter.mightContain(firstUser.getEmail()))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.existsByEmail(firstUser.getEmail()))
+                .thenReturn(false);
+        Mockito
+                .when(userRepository.saveAndFlush(Mockito.any(User.class)))
+                .thenReturn(firstUser);
+
+        UserDto user = userService.createUser(UserMapper.toUserDto(firstUser));
+
+        assertThat(user).isNotNull();
+        Mockito.verify(userRepository, times(1)).existsByEmail(firstUser.getEmail());
+    }
+
+    @Test
+    void test14_updateUserWithExistingEmail() {
+        Mockito
+                .when(userRepository.findById(1L))
+                .thenReturn(Optional.of(firstUser));
+        Mockito
+                .when(emailBloomFilter.mightContain(secondUser.getEmail()))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.existsByEmail(secondUser.getEmail()))
+                .thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.updateUser(
+                new UserDto(null, null, secondUser.getEmail()), 1L), "Incorrect exception");
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(Mockito.any(User.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test15_importUsersWithMalformedElement() throws Exception {
+        Mockito
+                .when(userBatchRepository.insertAll(Mockito.anyList()))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, ((List<User>) invocation.getArgument(0)).size())
+                        .boxed()
+                        .collect(Collectors.toList()));
+
+        UserImportResultDto result = userService.importUsers(new ObjectMapper().readerFor(UserDto.class).readValues(
+                "[{\"name\": \"test\", \"email\": \"first@yandex.ru\"}," +
+                        "{\"name\": {\"first\": \"test\"}, \"email\": \"second@yandex.ru\"}," +
+                        "{\"name\": \"test\", \"email\": \"third@yandex.ru\"}]"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors().get(0)).startsWith("Line 2: ");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test16_importUsersFromBrokenStream() throws Exception {
+        Mockito
+                .when(userBatchRepository.insertAll(Mockito.anyList()))
+                .thenAnswer(invocation -> LongStream.rangeClosed(1, ((List<User>) invocation.getArgument(0)).size())
+                        .boxed()
+                        .collect(Collectors.toList()));
+
+        UserImportResultDto result = userService.importUsers(new ObjectMapper().readerFor(UserDto.class).readValues(
+                "[{\"name\": \"test\", \"email\": \"first@yandex.ru\"}," +
+                        "{\"name\": \"test\", \"email\": \"second@yandex.ru\"}, {\"name\" \"test"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(0);
+        assertThat(result.getErrors().get(0)).startsWith("Line 3: Import stopped");
+    }
+
+    @Test
+    void test17_importUsersWhenBatchHitsTakenEmail() {
+        Mockito
+                .when(userBatchRepository.insertAll(Mockito.anyList()))
+                .thenThrow(new DuplicateKeyException("users_email_key"));
+        Mockito
+                .when(userBatchRepository.insert(Mockito.any(User.class)))
+                .thenAnswer(invocation -> {
+                    if ("taken@yandex.ru".equals(((User) invocation.getArgument(0)).getEmail())) {
+                        throw new DuplicateKeyException("users_email_key");
+                    }
+                    return "first@yandex.ru".equals(((User) invocation.getArgument(0)).getEmail()) ? 1L : 3L;
+                });
+
+        UserImportResultDto result = userService.importUsers(List.of(
+                new UserDto(null, "test", "first@yandex.ru"),
+                new UserDto(null, "test", "taken@yandex.ru"),
+                new UserDto(null, "test", "third@yandex.ru")).iterator());
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors().get(0)).isEqualTo("Line 2: Email taken@yandex.ru already exists");
+        Mockito.verify(userBatchRepository, times(3)).insert(Mockito.any(User.class));
+        Mockito.verify(userExistenceChecker, times(1)).registerUser(1L);
+        Mockito.verify(userExistenceChecker, times(1)).registerUser(3L);
     }
 
     private static User makeUser(Long id, String name, String email) {